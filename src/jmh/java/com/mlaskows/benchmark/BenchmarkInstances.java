@@ -0,0 +1,140 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticDataBuilder;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * TSPLIB instances used by benchmarks. Names are looked up as
+ * {@code <name>.tsp} in the directory given by the {@code benchmark.tsp.dir}
+ * system property, then among instances bundled in {@code /tsplib}, only
+ * berlin52, and then at the classpath root, where the antsp dependency
+ * ships ali535 and usa13509. Names like {@code rnd1000} are EUC_2D problems
+ * generated with a fixed seed.
+ */
+class BenchmarkInstances {
+
+    private static final String TSP_DIR_PROPERTY = "benchmark.tsp.dir";
+    private static final String[] RESOURCE_DIRS = {"/tsplib/", "/"};
+    private static final String RANDOM_PREFIX = "rnd";
+    private static final long SEED = 20170901L;
+    private static final int MAX_COORDINATE = 10000;
+
+    private BenchmarkInstances() {
+    }
+
+    static File get(String name) {
+        final String tspDir = System.getProperty(TSP_DIR_PROPERTY);
+        if (tspDir != null) {
+            final File file = Paths.get(tspDir, name + ".tsp").toFile();
+            if (file.exists()) {
+                return file;
+            }
+        }
+        try {
+            final File bundled = extractBundled(name);
+            if (bundled != null) {
+                return bundled;
+            }
+            if (!name.startsWith(RANDOM_PREFIX)) {
+                throw new IllegalArgumentException("No TSP file for " + name
+                        + ", set -D" + TSP_DIR_PROPERTY);
+            }
+            final int dimension = Integer.parseInt(name.substring(RANDOM_PREFIX.length()));
+            return generate(name, dimension);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies a classpath instance to a file because the parser reads files
+     * only.
+     */
+    private static File extractBundled(String name) throws IOException {
+        for (String resourceDir : RESOURCE_DIRS) {
+            try (InputStream in = BenchmarkInstances.class
+                    .getResourceAsStream(resourceDir + name + ".tsp")) {
+                if (in != null) {
+                    return extract(name, in);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static File extract(String name, InputStream in) throws IOException {
+        final Path file = Paths.get(System.getProperty("java.io.tmpdir"),
+                "antsp-benchmark-" + name + ".tsp");
+        final Path tmp = Files.createTempFile(file.getParent(), name, ".tmp");
+        Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return file.toFile();
+    }
+
+    /**
+     * Nearest neighbour tour, cheap enough to build for instances where
+     * running a solver in setup would dominate the benchmark time.
+     */
+    static Solution heuristicSolution(Tsp tsp) {
+        return new StaticDataBuilder(tsp)
+                .withHeuristicSolution()
+                .build()
+                .getHeuristicSolution()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static File generate(String name, int dimension) throws IOException {
+        final Path file = Paths.get(System.getProperty("java.io.tmpdir"),
+                "antsp-benchmark-" + name + ".tsp");
+        if (Files.exists(file)) {
+            return file.toFile();
+        }
+        final Path tmp = Files.createTempFile(file.getParent(), name, ".tmp");
+        final Random random = new Random(SEED + dimension);
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp)) {
+            writer.write("NAME : " + name + "\n");
+            writer.write("COMMENT : " + dimension + " random cities\n");
+            writer.write("TYPE : TSP\n");
+            writer.write("DIMENSION : " + dimension + "\n");
+            writer.write("EDGE_WEIGHT_TYPE : EUC_2D\n");
+            writer.write("NODE_COORD_SECTION\n");
+            for (int i = 1; i <= dimension; i++) {
+                writer.write(String.format(Locale.ROOT, "%d %.1f %.1f\n", i,
+                        random.nextDouble() * MAX_COORDINATE,
+                        random.nextDouble() * MAX_COORDINATE));
+            }
+            writer.write("EOF\n");
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        return file.toFile();
+    }
+
+}
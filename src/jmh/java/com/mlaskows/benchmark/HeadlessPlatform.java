@@ -0,0 +1,51 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * JavaFX platform for benchmarks. Forks using it are expected to run with
+ * the Monocle headless properties, see {@link SolvedMapDrawerBenchmark}, so
+ * no display is needed.
+ */
+class HeadlessPlatform {
+
+    private static boolean started;
+
+    private HeadlessPlatform() {
+    }
+
+    static synchronized void start() {
+        if (!started) {
+            Platform.startup(() -> {
+            });
+            Platform.setImplicitExit(false);
+            started = true;
+        }
+    }
+
+    static <T> T call(Callable<T> callable) throws InterruptedException,
+            ExecutionException {
+        final FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+        return task.get();
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.LoadedTsp;
+import com.mlaskows.MappedTspReader;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParseBenchmark {
+
+    @Param({"berlin52", "ali535", "rnd1000", "usa13509"})
+    private String instance;
+
+    private File file;
+
+    @Setup
+    public void setUp() {
+        file = BenchmarkInstances.get(instance);
+    }
+
+    @Benchmark
+    public Tsp parseTsp() throws IOException {
+        return TspLibParser.parseTsp(file.toString());
+    }
+
+    @Benchmark
+    public LoadedTsp readMapped() throws IOException {
+        return new MappedTspReader(file, position -> {
+        }, () -> false).read();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.datamodel.data.StaticDataBuilder;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.solver.SolverFactory;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a solver on prebuilt static data. Default configs stop only after
+ * long stagnation, so the stagnation count is a parameter to keep single
+ * invocations short enough for throughput measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SolveBenchmark {
+
+    @Param({"berlin52", "ali535", "rnd1000"})
+    private String instance;
+
+    @Param({"ANT_SYSTEM", "ELITIST", "RANK_BASED", "MIN_MAX"})
+    private AlgorithmType algorithmType;
+
+    @Param({"10"})
+    private int maxStagnationCount;
+
+    private StaticData data;
+    private AcoConfig config;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Tsp tsp = TspLibParser.parseTsp(BenchmarkInstances.get(instance).toString());
+        config = ConfigSpec.parse(ConfigSpec.ALGORITHM + "=" + algorithmType.name()
+                + "," + ConfigSpec.MAX_STAGNATION_COUNT + "=" + maxStagnationCount)
+                .toParameters(tsp.getDimension())
+                .getConfig();
+        data = new StaticDataBuilder(tsp)
+                .withHeuristicInformationMatrix()
+                .withHeuristicSolution()
+                .withNearestNeighbors(config.getNearestNeighbourFactor())
+                .build();
+    }
+
+    @Benchmark
+    public Solution getSolution() {
+        return SolverFactory.createSolver(algorithmType, data, config, result -> {
+        }).getSolution();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.draw.NodeTable;
+import com.mlaskows.draw.SolvedMapDrawer;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link #draw()} measures recording of canvas commands, which is what
+ * happens on the application thread, {@link #drawAndRender()} also
+ * rasterizes them by taking a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dglass.platform=Monocle",
+        "-Dmonocle.platform=Headless",
+        "-Dprism.order=sw",
+        "-Djava.awt.headless=true",
+        "--add-reads=javafx.graphics=ALL-UNNAMED",
+        "--add-exports=javafx.graphics/com.sun.glass.ui=ALL-UNNAMED",
+        "--add-opens=javafx.graphics/com.sun.glass.ui=ALL-UNNAMED"
+})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SolvedMapDrawerBenchmark {
+
+    private static final int WIDTH = 1024;
+    private static final int HEIGHT = 768;
+
+    @Param({"berlin52", "ali535", "rnd5000"})
+    private String instance;
+
+    private Canvas canvas;
+    private SolvedMapDrawer drawer;
+    private WritableImage image;
+
+    @Setup
+    public void setUp() throws IOException {
+        HeadlessPlatform.start();
+        final Tsp tsp = TspLibParser.parseTsp(BenchmarkInstances.get(instance).toString());
+        final Solution solution = BenchmarkInstances.heuristicSolution(tsp);
+        canvas = new Canvas(WIDTH, HEIGHT);
+        drawer = new SolvedMapDrawer(canvas, new NodeTable(tsp), solution);
+        image = new WritableImage(WIDTH, HEIGHT);
+    }
+
+    @Benchmark
+    public Canvas draw() {
+        drawer.draw();
+        return canvas;
+    }
+
+    @Benchmark
+    public WritableImage drawAndRender() throws InterruptedException,
+            ExecutionException {
+        return HeadlessPlatform.call(() -> {
+            drawer.draw();
+            return canvas.snapshot(null, image);
+        });
+    }
+
+}
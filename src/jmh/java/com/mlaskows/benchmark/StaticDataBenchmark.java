@@ -0,0 +1,79 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.Parameters;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.datamodel.data.StaticDataBuilder;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds static data the same way {@code StaticDataCache} does on a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StaticDataBenchmark {
+
+    @Param({"berlin52", "ali535", "rnd1000", "rnd5000"})
+    private String instance;
+
+    @Param({"MIN_MAX"})
+    private AlgorithmType algorithmType;
+
+    private Tsp tsp;
+    private int nnFactor;
+
+    @Setup
+    public void setUp() throws IOException {
+        tsp = TspLibParser.parseTsp(BenchmarkInstances.get(instance).toString());
+        final Parameters parameters = new Parameters();
+        parameters.setAlgorithmType(algorithmType);
+        parameters.initParameters(tsp.getDimension());
+        nnFactor = parameters.getNnFactor();
+    }
+
+    @Benchmark
+    public StaticData build() {
+        final StaticDataBuilder builder = new StaticDataBuilder(tsp);
+        if (algorithmType.isAntBased()) {
+            builder.withHeuristicInformationMatrix()
+                    .withHeuristicSolution();
+        }
+        return builder
+                .withNearestNeighbors(nnFactor)
+                .build();
+    }
+
+}
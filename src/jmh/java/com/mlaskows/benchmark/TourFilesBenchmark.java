@@ -0,0 +1,88 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.benchmark;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.tour.TourFiles;
+import com.mlaskows.tour.TourFormat;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves and loads solutions the way {@code SolutionSaver} and the open
+ * solution action do, without the file chooser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TourFilesBenchmark {
+
+    private static final String CONTENT_HASH = "benchmark";
+
+    @Param({"berlin52", "ali535", "rnd5000"})
+    private String instance;
+
+    @Param({"TSPLIB", "BINARY"})
+    private TourFormat format;
+
+    private Tsp tsp;
+    private Solution solution;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        tsp = TspLibParser.parseTsp(BenchmarkInstances.get(instance).toString());
+        solution = BenchmarkInstances.heuristicSolution(tsp);
+        file = Files.createTempFile(instance, "." + format.getExtension()).toFile();
+        TourFiles.save(file, tsp, CONTENT_HASH, solution);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public File save() throws IOException {
+        TourFiles.save(file, tsp, CONTENT_HASH, solution);
+        return file;
+    }
+
+    @Benchmark
+    public Solution load() throws IOException {
+        return TourFiles.load(file, tsp, CONTENT_HASH);
+    }
+
+}
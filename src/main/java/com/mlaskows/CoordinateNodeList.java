@@ -0,0 +1,63 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows;
+
+import com.mlaskows.tsplib.datamodel.item.Node;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read only node list backed by coordinate arrays indexed by
+ * {@code id - 1}. Nodes are created together on the first access, so a list
+ * that is only loaded and drawn holds just the coordinates, while building
+ * static data, which reads every node once per pair, allocates them once.
+ */
+class CoordinateNodeList extends AbstractList<Node> implements RandomAccess {
+
+    private final double[] xs;
+    private final double[] ys;
+    private volatile Node[] nodes;
+
+    CoordinateNodeList(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    @Override
+    public Node get(int index) {
+        return getNodes()[index];
+    }
+
+    @Override
+    public int size() {
+        return xs.length;
+    }
+
+    private Node[] getNodes() {
+        Node[] nodes = this.nodes;
+        // racing readers build equal arrays, any of them may be kept
+        if (nodes == null) {
+            nodes = new Node[xs.length];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = new Node(i + 1, ys[i], xs[i]);
+            }
+            this.nodes = nodes;
+        }
+        return nodes;
+    }
+
+}
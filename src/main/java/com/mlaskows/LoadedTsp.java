@@ -0,0 +1,45 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows;
+
+import com.mlaskows.draw.NodeTable;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+public class LoadedTsp {
+
+    private final Tsp tsp;
+    private final String contentHash;
+    private final NodeTable nodeTable;
+
+    public LoadedTsp(Tsp tsp, String contentHash, NodeTable nodeTable) {
+        this.tsp = tsp;
+        this.contentHash = contentHash;
+        this.nodeTable = nodeTable;
+    }
+
+    public Tsp getTsp() {
+        return tsp;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public NodeTable getNodeTable() {
+        return nodeTable;
+    }
+
+}
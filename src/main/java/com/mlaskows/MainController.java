@@ -18,43 +18,73 @@ package com.mlaskows;
 import com.mlaskows.antsp.config.AcoConfig;
 import com.mlaskows.antsp.datamodel.Solution;
 import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.checkpoint.Checkpoint;
+import com.mlaskows.checkpoint.CheckpointStore;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.data.StaticDataKey;
+import com.mlaskows.data.StaticDataPrecomputer;
+import com.mlaskows.dialog.ConvergenceDialog;
 import com.mlaskows.dialog.DialogUtil;
 import com.mlaskows.dialog.HelpDialog;
+import com.mlaskows.dialog.SweepDialog;
+import com.mlaskows.draw.NodeTable;
+import com.mlaskows.draw.Projection;
+import com.mlaskows.draw.RedrawScheduler;
+import com.mlaskows.draw.ResizableCanvas;
 import com.mlaskows.draw.SolvedMapDrawer;
 import com.mlaskows.draw.UnsolvedMapDrawer;
+import com.mlaskows.draw.Viewport;
 import com.mlaskows.filter.DoubleFilter;
 import com.mlaskows.filter.IntegerFilter;
+import com.mlaskows.metrics.Phase;
+import com.mlaskows.metrics.PhaseMetrics;
+import com.mlaskows.metrics.PhaseSpan;
 import com.mlaskows.save.ImageSaver;
+import com.mlaskows.save.MetricsSaver;
 import com.mlaskows.save.SolutionSaver;
+import com.mlaskows.solver.AlgorithmRace;
+import com.mlaskows.solver.LiveConfig;
+import com.mlaskows.solver.ParallelSolve;
+import com.mlaskows.solver.SolverScheduler;
+import com.mlaskows.solver.SolvingJob;
+import com.mlaskows.solver.StopCondition;
 import com.mlaskows.tsplib.datamodel.item.Tsp;
+import javafx.animation.PauseTransition;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.control.*;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
 import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
 import javafx.util.converter.DoubleStringConverter;
 import javafx.util.converter.IntegerStringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.*;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import static com.mlaskows.TspFileHelper.formatComment;
 import static java.lang.System.exit;
@@ -62,13 +92,35 @@ import static java.lang.System.exit;
 public class MainController {
 
     private static final Logger LOG = LoggerFactory.getLogger(MainController.class);
+    private static final double ZOOM_FACTOR = 1.25;
+    private static final double CURSOR_CITY_RADIUS = 10;
+    private static final Duration PRECOMPUTE_DELAY = Duration.millis(500);
 
     private Tsp tsp;
 
+    private String tspContentHash;
+
+    private NodeTable nodeTable;
+
     private Solution solution;
 
+    private PhaseMetrics phaseMetrics;
+
+    private ConvergenceDialog convergenceDialog;
+
+    private int runCount;
+
     private Parameters parameters = new Parameters();
 
+    private final StaticDataCache staticDataCache = StaticDataCache.createDefault();
+
+    private final CheckpointStore checkpointStore = CheckpointStore.createDefault();
+
+    private final StaticDataPrecomputer staticDataPrecomputer =
+            new StaticDataPrecomputer(staticDataCache);
+
+    private final PauseTransition precomputeDelay = new PauseTransition(PRECOMPUTE_DELAY);
+
     @FXML
     private BorderPane mainBorderPane;
 
@@ -77,21 +129,41 @@ public class MainController {
     @FXML
     private MenuBar menuBar;
 
+    @FXML
+    private MenuItem openMenuItem;
+
     @FXML
     private MenuItem closeMenuItem;
 
     @FXML
     private MenuItem solveMenuItem;
 
+    @FXML
+    private MenuItem sweepMenuItem;
+
     @FXML
     private MenuItem saveImageMenuItem;
 
+    @FXML
+    private MenuItem openSolutionMenuItem;
+
+    @FXML
+    private MenuItem resumeMenuItem;
+
     @FXML
     private MenuItem saveSolutionMenuItem;
 
+    @FXML
+    private MenuItem saveMetricsMenuItem;
+
     @FXML
     private MenuItem defaultValuesMenuItem;
 
+    @FXML
+    private Menu solverPolicyMenu;
+
+    private final SolverScheduler solverScheduler = new SolverScheduler();
+
     // info
 
     @FXML
@@ -109,6 +181,12 @@ public class MainController {
     @FXML
     private Label solutionLenLabel;
 
+    @FXML
+    private Label phaseMetricsLabel;
+
+    @FXML
+    private Label cursorCityLabel;
+
 
     // form
 
@@ -139,6 +217,29 @@ public class MainController {
     @FXML
     private CheckBox localSearchCheckBox;
 
+    @FXML
+    private TextField coloniesTextField;
+
+    @FXML
+    private CheckBox raceCheckBox;
+
+    @FXML
+    private CheckBox warmStartCheckBox;
+
+    @FXML
+    private TextField timeLimitTextField;
+
+    @FXML
+    private TextField targetLengthTextField;
+
+    @FXML
+    private TextField targetGapTextField;
+
+    @FXML
+    private Button applyButton;
+
+    private SolvingTask liveTask;
+
     private final Label reinitializationCountLabel =
             new Label("Reinitialization count");
 
@@ -150,7 +251,15 @@ public class MainController {
 
     // map
 
-    private Canvas mapCanvas;
+    private ResizableCanvas mapCanvas;
+
+    private final Viewport viewport = new Viewport();
+
+    private final RedrawScheduler redrawScheduler = new RedrawScheduler(this::redrawMap);
+
+    private double dragX;
+
+    private double dragY;
 
     @FXML
     private StackPane mapStackPane;
@@ -165,6 +274,8 @@ public class MainController {
 
         initValidation();
         initBinding();
+        initPrecompute();
+        initSolverPolicyMenu();
 
         algorithmTypeChoiceBox
                 .setItems(FXCollections.observableArrayList(AlgorithmType.values()));
@@ -174,70 +285,406 @@ public class MainController {
                 .addListener(
                         (ObservableValue<? extends AlgorithmType> observable,
                          AlgorithmType oldValue,
-                         AlgorithmType newValue) -> initForm()
+                         AlgorithmType newValue) -> {
+                            // running solve keeps its algorithm and edited fields
+                            if (liveTask == null) {
+                                initForm();
+                            }
+                        }
                 );
     }
 
+    private void initSolverPolicyMenu() {
+        final ToggleGroup toggleGroup = new ToggleGroup();
+        for (SolverScheduler.Policy policy : SolverScheduler.Policy.values()) {
+            final RadioMenuItem menuItem = new RadioMenuItem(policy.toString());
+            menuItem.setToggleGroup(toggleGroup);
+            menuItem.setSelected(policy == solverScheduler.getPolicy());
+            menuItem.setOnAction(event -> solverScheduler.setPolicy(policy));
+            solverPolicyMenu.getItems().add(menuItem);
+        }
+    }
+
+    private void initPrecompute() {
+        precomputeDelay.setOnFinished(event -> precomputeStaticData());
+        parameters.nnFactorProperty().addListener((observable, oldValue, newValue) ->
+                precomputeDelay.playFromStart());
+    }
+
+    private void precomputeStaticData() {
+        // a running solve has its data, precompute would compete for cores
+        if (tsp == null || liveTask != null || parameters.getNnFactor() <= 0) {
+            return;
+        }
+        staticDataPrecomputer.precompute(new StaticDataKey(tsp, tspContentHash,
+                parameters.getNnFactor(), parameters.getAlgorithmType().isAntBased()));
+    }
+
     public void initMapCanvas() {
         final int paddingValue = 10;
-        final double rightWidth = mainBorderPane.getRight().getLayoutBounds().getWidth();
-        final double mainBorderPaneWidth = mainBorderPane.getWidth();
-        final double rightHeight = mainBorderPane.getRight().getLayoutBounds().getHeight();
-        final double bottomHeight = mainBorderPane.getBottom().getLayoutBounds().getHeight();
-        mapCanvas = new Canvas(mainBorderPaneWidth - rightWidth - paddingValue,
-                rightHeight - bottomHeight - paddingValue);
+        mapCanvas = new ResizableCanvas();
+        mapCanvas.setOnRedraw(redrawScheduler::requestRedraw);
         mapStackPane.setPadding(new Insets(paddingValue, paddingValue, paddingValue,
                 paddingValue));
         mapStackPane.setAlignment(mapCanvas, Pos.CENTER);
         mapStackPane.getChildren().add(mapCanvas);
+        initMapNavigation();
     }
 
-    public void openFile() {
+    private void initMapNavigation() {
+        mapCanvas.setOnScroll(event -> {
+            if (nodeTable == null || event.getDeltaY() == 0) {
+                return;
+            }
+            final double factor = event.getDeltaY() > 0 ? ZOOM_FACTOR : 1 / ZOOM_FACTOR;
+            viewport.zoom(factor, event.getX(), event.getY());
+            redrawScheduler.requestRedraw();
+        });
+        mapCanvas.setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        mapCanvas.setOnMouseDragged(event -> {
+            if (nodeTable == null) {
+                return;
+            }
+            viewport.pan(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+            redrawScheduler.requestRedraw();
+        });
+        mapCanvas.setOnMouseClicked(event -> {
+            if (nodeTable != null && event.getButton() == MouseButton.PRIMARY
+                    && event.getClickCount() == 2) {
+                viewport.reset();
+                redrawScheduler.requestRedraw();
+            }
+        });
+        mapCanvas.setOnMouseMoved(event -> showCursorCity(event.getX(), event.getY()));
+    }
+
+    private void showCursorCity(double viewX, double viewY) {
+        if (nodeTable == null) {
+            return;
+        }
+        final Projection projection = nodeTable.getProjection(mapCanvas.getWidth(),
+                mapCanvas.getHeight());
+        final int index = projection.getSpatialGrid().findNearest(
+                viewport.toBaseX(viewX), viewport.toBaseY(viewY),
+                CURSOR_CITY_RADIUS / viewport.getZoom());
+        if (index < 0) {
+            cursorCityLabel.setText("");
+        } else {
+            cursorCityLabel.setText((index + 1) + " (" + nodeTable.getX(index)
+                    + ", " + nodeTable.getY(index) + ")");
+        }
+    }
+
+    private void redrawMap() {
+        if (nodeTable == null) {
+            return;
+        }
+        final PhaseSpan span = phaseMetrics.start(Phase.DRAW);
         try {
-            final Optional<Tsp> tspOptional = TspFileHelper.getTsp();
-            if (tspOptional.isPresent()) {
-                this.tsp = tspOptional.get();
+            if (solution == null) {
+                new UnsolvedMapDrawer(mapCanvas, nodeTable, viewport).draw();
             } else {
-                return;
+                new SolvedMapDrawer(mapCanvas, nodeTable, viewport, solution).draw();
             }
-        } catch (Exception e) {
-            DialogUtil.showError("Can't open TSP file", e.getMessage());
+        } finally {
+            span.close();
+        }
+        mapCanvas.invalidateRaster();
+        showPhaseMetrics();
+    }
+
+    private void showPhaseMetrics() {
+        phaseMetricsLabel.setText(phaseMetrics.format());
+    }
+
+    public void openFile() {
+        final Optional<File> file = TspFileHelper.chooseTspFile();
+        if (!file.isPresent()) {
             return;
         }
+        final PhaseMetrics metrics = new PhaseMetrics(file.get().getName());
+        final TspLoadingTask task = new TspLoadingTask(file.get(), metrics);
+        task.setOnSucceeded(e -> showProblem(task.getValue(), metrics));
+        final Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void openSolution() {
+        final Optional<File> file = TspFileHelper.chooseTourFile();
+        if (!file.isPresent()) {
+            return;
+        }
+        final TourLoadingTask task = new TourLoadingTask(file.get(), tsp, tspContentHash);
+        task.setOnSucceeded(e -> showSolution(task.getValue()));
+        final Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void showProblem(LoadedTsp loadedTsp, PhaseMetrics metrics) {
+        // tours of running or queued solves don't fit the new problem
+        solverScheduler.cancelAll();
+        setLiveTask(null);
+        this.phaseMetrics = metrics;
+        this.tsp = loadedTsp.getTsp();
+        this.tspContentHash = loadedTsp.getContentHash();
+        this.nodeTable = loadedTsp.getNodeTable();
+        this.solution = null;
         int maxCommentLen = (int) infoGridPane.getWidth() / 10;
         final String comment = formatComment(tsp.getComment(), maxCommentLen);
         LOG.debug("Opening TSP: " + tsp.getName() + " " + comment);
-        new UnsolvedMapDrawer(mapCanvas, tsp).draw();
+        viewport.reset();
+        redrawMap();
         initializeInfo(comment);
         enableElementsAfterLoadingProblem();
         initForm();
     }
 
     public void solve() {
+        solve(null);
+    }
+
+    private void solve(Checkpoint resumed) {
         final AcoConfig config = parameters.getConfig();
         LOG.debug("Solving with config " + config.toString());
+        if (parameters.isRace()) {
+            staticDataPrecomputer.cancel();
+        } else {
+            staticDataPrecomputer.cancelUnless(new StaticDataKey(tsp, tspContentHash,
+                    config.getNearestNeighbourFactor(),
+                    parameters.getAlgorithmType().isAntBased()));
+        }
 
-        Task<Solution> task = new SolvingTask(tsp, config, parameters.getAlgorithmType());
-        final Thread thread = new Thread(task);
-        thread.setDaemon(true);
-        thread.start();
-        task.setOnSucceeded(e -> {
-            try {
-                solution = task.get();
-                new SolvedMapDrawer(mapCanvas, tsp, solution).draw();
-                solutionLenLabel.setText(String.valueOf(solution.getTourLength()));
-                enableElementsAfterSolvingProblem();
-            } catch (InterruptedException | ExecutionException ex) {
-                final String error = "Can't solve problem ";
-                LOG.error(error + ex.getMessage());
-                DialogUtil.showError(error, ex.getMessage());
+        // race runs each algorithm with its own defaults
+        final LiveConfig liveConfig = parameters.isRace() ? null
+                : new LiveConfig(parameters.getAlgorithmType(), config);
+        // resumed run gets the time left of its limit
+        final StopCondition stopCondition = resumed == null
+                ? parameters.getStopCondition()
+                : parameters.getStopCondition().remainingAfter(resumed.getSolveMillis());
+        final ParallelSolve parallelSolve = createParallelSolve(liveConfig, stopCondition);
+        if (resumed != null) {
+            resume(parallelSolve.getJobs(), resumed);
+        } else if (parameters.isWarmStart() && solution != null) {
+            parallelSolve.getJobs().forEach(job -> job.setWarmStart(solution));
+        }
+        addConvergenceRuns(parallelSolve.getJobs());
+        final PhaseMetrics runMetrics = phaseMetrics.startRun();
+        final SolvingTask task = new SolvingTask(parallelSolve, runMetrics);
+        task.setLiveConfig(liveConfig);
+        if (!parameters.isRace() && tspContentHash != null) {
+            task.enableCheckpoints(checkpointStore, tspContentHash,
+                    ConfigSpec.of(parameters),
+                    resumed == null ? 0 : resumed.getSolveMillis());
+        }
+        task.bestSolutionProperty().addListener((observable, oldValue, newValue) -> {
+            if (!task.isCancelled()) {
+                showSolution(newValue);
             }
         });
+        task.setOnRunning(e -> {
+            phaseMetrics = runMetrics;
+            setLiveTask(task);
+        });
+        task.setOnSucceeded(e -> {
+            clearLiveTask(task);
+            showSolution(task.getValue());
+            showJobTourLengths(task.getJobs());
+        });
+        task.setOnCancelled(e -> {
+            clearLiveTask(task);
+            showPhaseMetrics();
+        });
+        task.setOnFailed(e -> clearLiveTask(task));
+        submitToScheduler(task);
+    }
+
+    /**
+     * Gives each job the state of one saved colony, jobs beyond the saved
+     * colonies only start from the best tour.
+     */
+    private static void resume(List<SolvingJob> jobs, Checkpoint checkpoint) {
+        final List<Checkpoint.Colony> colonies = checkpoint.getColonies();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (i < colonies.size()) {
+                jobs.get(i).resume(checkpoint.getSolution(),
+                        colonies.get(i).getHistory(),
+                        colonies.get(i).getIterationsWithNoImprovement());
+            } else {
+                jobs.get(i).setWarmStart(checkpoint.getSolution());
+            }
+        }
+    }
+
+    /**
+     * Continues the last checkpointed solve of the problem with its
+     * parameters, best tour and history.
+     */
+    public void resumeFromCheckpoint() {
+        final Optional<Checkpoint> checkpoint;
+        try {
+            checkpoint = tspContentHash == null ? Optional.empty()
+                    : checkpointStore.load(tspContentHash, tsp.getDimension());
+        } catch (IOException | IllegalArgumentException e) {
+            final String error = "Can't load checkpoint ";
+            LOG.error(error + e.getMessage());
+            DialogUtil.showError(error, e.getMessage());
+            return;
+        }
+        if (!checkpoint.isPresent()) {
+            DialogUtil.showError("Can't resume ",
+                    "There is no checkpoint for " + tsp.getName());
+            return;
+        }
+        LOG.debug("Resuming from " + checkpoint.get());
+        try {
+            checkpoint.get().getSpec().applyTo(parameters);
+        } catch (IllegalArgumentException e) {
+            DialogUtil.showError("Invalid checkpoint parameters ", e.getMessage());
+            return;
+        }
+        parameters.setRace(false);
+        showSolution(checkpoint.get().getSolution());
+        solve(checkpoint.get());
+    }
+
+    /**
+     * Applies edited parameters to the running solve at its next iteration.
+     */
+    public void applyParameters() {
+        if (liveTask == null || liveTask.getLiveConfig() == null) {
+            return;
+        }
+        try {
+            liveTask.getLiveConfig().request(parameters.getAlgorithmType(),
+                    parameters.getConfig());
+            liveTask.setCheckpointSpec(ConfigSpec.of(parameters));
+        } catch (IllegalArgumentException e) {
+            DialogUtil.showError("Can't apply parameters ", e.getMessage());
+        }
+    }
+
+    private void setLiveTask(SolvingTask liveTask) {
+        this.liveTask = liveTask;
+        applyButton.setDisable(liveTask == null || liveTask.getLiveConfig() == null);
+        algorithmTypeChoiceBox.setDisable(liveTask != null);
+        // the progress dialog isn't modal, these would replace the problem,
+        // tour or form under the running solve
+        final boolean solving = liveTask != null;
+        openMenuItem.setDisable(solving);
+        openSolutionMenuItem.setDisable(solving);
+        resumeMenuItem.setDisable(solving);
+        sweepMenuItem.setDisable(solving);
+        defaultValuesMenuItem.setDisable(solving);
+    }
+
+    private void clearLiveTask(SolvingTask finished) {
+        // queued tasks finish without running while another one is solving
+        if (liveTask == finished) {
+            setLiveTask(null);
+        }
+    }
+
+    private void submitToScheduler(Task<?> task) {
+        if (!solverScheduler.submit(task)) {
+            DialogUtil.showError("Can't start solving ",
+                    "Another solve is running or the queue is full");
+        }
+    }
+
+    public void sweepParameters() {
+        staticDataPrecomputer.cancel();
+        final SweepDialog sweepDialog = new SweepDialog();
+        sweepDialog.setOnStart(() -> startSweep(sweepDialog));
+        sweepDialog.show();
+    }
+
+    private void startSweep(SweepDialog sweepDialog) {
+        final SweepTask task;
+        try {
+            task = new SweepTask(sweepDialog, tsp, tspContentHash,
+                    ConfigSpec.of(parameters), staticDataCache);
+        } catch (IllegalArgumentException e) {
+            DialogUtil.showError("Invalid sweep parameters ", e.getMessage());
+            return;
+        }
+        sweepDialog.setOnStop(task::cancel);
+        submitToScheduler(task);
+    }
+
+    private ParallelSolve createParallelSolve(LiveConfig liveConfig,
+                                              StopCondition stopCondition) {
+        if (liveConfig == null) {
+            return new AlgorithmRace(tsp, tspContentHash, staticDataCache,
+                    stopCondition);
+        }
+        final List<SolvingJob> jobs = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, parameters.getColonies()); i++) {
+            jobs.add(new SolvingJob(tsp, tspContentHash, liveConfig.createView(),
+                    parameters.getAlgorithmType(), staticDataCache));
+        }
+        return new ParallelSolve(jobs, stopCondition);
+    }
+
+    private void addConvergenceRuns(List<SolvingJob> jobs) {
+        runCount++;
+        for (int i = 0; i < jobs.size(); i++) {
+            String name = "Run " + runCount;
+            if (parameters.isRace()) {
+                name += " " + jobs.get(i).getAlgorithmType().name();
+            } else if (jobs.size() > 1) {
+                name += " #" + (i + 1);
+            }
+            getConvergenceDialog().addRun(name, jobs.get(i).getHistory());
+        }
+    }
+
+    public void showConvergence() {
+        getConvergenceDialog().show();
+    }
+
+    private ConvergenceDialog getConvergenceDialog() {
+        if (convergenceDialog == null) {
+            convergenceDialog = new ConvergenceDialog();
+        }
+        return convergenceDialog;
+    }
+
+    private void showJobTourLengths(List<SolvingJob> jobs) {
+        if (jobs.size() > 1) {
+            solutionLenLabel.setText(solutionLenLabel.getText() + " ("
+                    + jobs.stream()
+                    .map(this::formatJobTourLength)
+                    .collect(Collectors.joining(", ")) + ")");
+        }
+    }
+
+    private String formatJobTourLength(SolvingJob job) {
+        final String length = job.getSolution() == null ? "-"
+                : String.valueOf(job.getSolution().getTourLength());
+        if (!parameters.isRace()) {
+            return length;
+        }
+        return job.getAlgorithmType().name() + ": " + length
+                + (job.isStopped() ? " stopped" : "");
+    }
+
+    private void showSolution(Solution solution) {
+        this.solution = solution;
+        redrawScheduler.requestRedraw();
+        solutionLenLabel.setText(String.valueOf(solution.getTourLength()));
+        enableElementsAfterSolvingProblem();
     }
 
     public void saveSolution() {
         try {
-            new SolutionSaver(tsp, solution).save();
+            new SolutionSaver(tsp, tspContentHash, solution).save();
         } catch (IOException e) {
             final String error = "Can't save solution file ";
             LOG.error(error + e.getMessage());
@@ -245,6 +692,16 @@ public class MainController {
         }
     }
 
+    public void saveMetrics() {
+        try {
+            new MetricsSaver(phaseMetrics).save();
+        } catch (IOException e) {
+            final String error = "Can't save metrics file ";
+            LOG.error(error + e.getMessage());
+            DialogUtil.showError(error, e.getMessage());
+        }
+    }
+
     public void saveImage() {
         WritableImage writableImage =
                 new WritableImage((int) mapCanvas.getWidth(), (int) mapCanvas.getHeight());
@@ -269,6 +726,7 @@ public class MainController {
                 showRankBasedOptionalFields();
                 break;
         }
+        precomputeDelay.playFromStart();
     }
 
     private void showRankBasedOptionalFields() {
@@ -294,7 +752,12 @@ public class MainController {
     private void enableElementsAfterLoadingProblem() {
         formGridPane.setDisable(false);
         solveMenuItem.setDisable(false);
+        sweepMenuItem.setDisable(false);
+        openSolutionMenuItem.setDisable(false);
+        resumeMenuItem.setDisable(false);
+        saveSolutionMenuItem.setDisable(true);
         saveImageMenuItem.setDisable(false);
+        saveMetricsMenuItem.setDisable(false);
         defaultValuesMenuItem.setDisable(false);
     }
 
@@ -303,6 +766,7 @@ public class MainController {
         dimensionLabel.setText(String.valueOf(tsp.getDimension()));
         commentLabel.setText(comment);
         solutionLenLabel.setText("");
+        cursorCityLabel.setText("");
     }
 
     private void enableElementsAfterSolvingProblem() {
@@ -342,6 +806,24 @@ public class MainController {
         localSearchCheckBox
                 .selectedProperty()
                 .bindBidirectional(parameters.localSearchProperty());
+        coloniesTextField
+                .textProperty()
+                .bindBidirectional(parameters.coloniesProperty(), decimalFormat);
+        raceCheckBox
+                .selectedProperty()
+                .bindBidirectional(parameters.raceProperty());
+        warmStartCheckBox
+                .selectedProperty()
+                .bindBidirectional(parameters.warmStartProperty());
+        timeLimitTextField
+                .textProperty()
+                .bindBidirectional(parameters.timeLimitProperty(), decimalFormat);
+        targetLengthTextField
+                .textProperty()
+                .bindBidirectional(parameters.targetLengthProperty(), decimalFormat);
+        targetGapTextField
+                .textProperty()
+                .bindBidirectional(parameters.targetGapProperty(), decimalFormat);
     }
 
     private void initValidation() {
@@ -353,6 +835,10 @@ public class MainController {
         maxStagnationTextField.setTextFormatter(getIntegerTextFormatter());
         reinitializationCountTextField.setTextFormatter(getIntegerTextFormatter());
         weightTextField.setTextFormatter(getIntegerTextFormatter());
+        coloniesTextField.setTextFormatter(getIntegerTextFormatter());
+        timeLimitTextField.setTextFormatter(getIntegerTextFormatter());
+        targetLengthTextField.setTextFormatter(getIntegerTextFormatter());
+        targetGapTextField.setTextFormatter(getDoubleTextFormatter());
     }
 
     private TextFormatter<Integer> getIntegerTextFormatter() {
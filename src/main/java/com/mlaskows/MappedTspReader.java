@@ -0,0 +1,314 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows;
+
+import com.mlaskows.data.StaticDataStore;
+import com.mlaskows.draw.NodeTable;
+import com.mlaskows.tsplib.datamodel.ItemBuilder;
+import com.mlaskows.tsplib.datamodel.item.Node;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.stateparser.ParsingContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads a TSPLIB file through a memory mapping. Specification and edge weight
+ * lines still go through the TSPLIB parser, while coordinate sections are
+ * parsed straight from bytes into primitive arrays, so no line strings or
+ * node objects are created for them.
+ */
+public class MappedTspReader {
+
+    private static final int PROGRESS_STEP_BYTES = 1 << 16;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final File file;
+    private final LongConsumer progressListener;
+    private final BooleanSupplier cancelled;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int limit;
+    private int reportedPosition;
+    private MessageDigest digest;
+    private int hashedPosition;
+    private double[] xs;
+    private double[] ys;
+
+    public MappedTspReader(File file, LongConsumer progressListener,
+                    BooleanSupplier cancelled) {
+        this.file = file;
+        this.progressListener = progressListener;
+        this.cancelled = cancelled;
+    }
+
+    public static boolean canRead(File file) {
+        return file.length() <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return loaded problem or {@code null} if reading was cancelled, node
+     * table of the problem is {@code null} if it has no coordinates
+     */
+    public LoadedTsp read() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        limit = buffer.limit();
+        digest = StaticDataStore.createDigest();
+
+        final ItemBuilder builder = new ItemBuilder();
+        final ParsingContext context = new ParsingContext();
+        while (position < limit) {
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            final String line = readLine().trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            context.consumeLine(line, builder);
+            if (line.startsWith("NODE_COORD_SECTION")
+                    || line.startsWith("DISPLAY_DATA_SECTION")) {
+                if (!readCoordinates(builder.buildTsp().getDimension())) {
+                    return null;
+                }
+            }
+            reportProgress();
+        }
+        hashUpTo(limit);
+
+        final Tsp tsp = withCoordinates(builder.buildTsp());
+        final NodeTable nodeTable = xs == null ? null : new NodeTable(xs, ys);
+        return new LoadedTsp(tsp, StaticDataStore.toHex(digest), nodeTable);
+    }
+
+    /**
+     * Parses "id x y [z]" lines until the first line which doesn't start
+     * with a number, leaving that line for the parser.
+     */
+    private boolean readCoordinates(int dimension) {
+        if (xs == null) {
+            xs = new double[dimension];
+            ys = new double[dimension];
+        }
+        while (position < limit) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            final int lineStart = position;
+            skipSpaces();
+            if (position == limit) {
+                break;
+            }
+            final byte first = buffer.get(position);
+            if (first == '\n') {
+                position++;
+                continue;
+            }
+            if (!isNumberStart(first)) {
+                position = lineStart;
+                break;
+            }
+            final int id = (int) parseNumber();
+            // parser's nodes take the second column as y, like Node(id, y, x)
+            final double y = parseNumber();
+            final double x = parseNumber();
+            if (id < 1 || id > dimension) {
+                throw new IllegalArgumentException("Node id " + id
+                        + " exceeds dimension " + dimension);
+            }
+            xs[id - 1] = x;
+            ys[id - 1] = y;
+            skipLine();
+            reportProgress();
+        }
+        return true;
+    }
+
+    private Tsp withCoordinates(Tsp tsp) {
+        if (xs == null) {
+            return tsp;
+        }
+        return new Tsp(tsp.getName(), tsp.getType(),
+                tsp.getEdgeWeightType(), tsp.getEdgeWeightFormat(),
+                tsp.getDimension(), tsp.getComment(), tsp.getDisplayDataType(),
+                tsp.getNodeCoordType(),
+                new CoordinateNodeList(xs, ys),
+                tsp.getEdgeWeightData().orElse(null));
+    }
+
+    private String readLine() {
+        final int start = position;
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        final byte[] bytes = new byte[position - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        if (position < limit) {
+            position++;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void skipLine() {
+        while (position < limit && buffer.get(position++) != '\n') {
+        }
+    }
+
+    private void skipSpaces() {
+        while (position < limit) {
+            final byte b = buffer.get(position);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Parses a decimal number. Values with up to 15 significant digits and a
+     * small exponent are exact in double arithmetic, anything else falls back
+     * to {@link Double#parseDouble(String)}.
+     */
+    private double parseNumber() {
+        skipSpaces();
+        final int start = position;
+        boolean negative = false;
+        if (position < limit && (buffer.get(position) == '-'
+                || buffer.get(position) == '+')) {
+            negative = buffer.get(position) == '-';
+            position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean dot = false;
+        boolean hasDigits = false;
+        while (position < limit) {
+            final byte b = buffer.get(position);
+            if (b >= '0' && b <= '9') {
+                hasDigits = true;
+                if (digits < MAX_FAST_DIGITS + 1) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    if (dot) {
+                        exponent--;
+                    }
+                } else {
+                    digits++;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if (position < limit && (buffer.get(position) == 'e'
+                || buffer.get(position) == 'E')) {
+            position++;
+            exponent += (int) parseExponent();
+        }
+        if (!hasDigits || !isNumberEnd()) {
+            throw new NumberFormatException("Invalid number at byte " + start
+                    + " of " + file.getName());
+        }
+        if (digits > MAX_FAST_DIGITS || Math.abs(exponent) >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(substring(start, position));
+        }
+        final double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    private long parseExponent() {
+        boolean negative = false;
+        if (position < limit && (buffer.get(position) == '-'
+                || buffer.get(position) == '+')) {
+            negative = buffer.get(position) == '-';
+            position++;
+        }
+        long value = 0;
+        while (position < limit && buffer.get(position) >= '0'
+                && buffer.get(position) <= '9') {
+            value = Math.min(value * 10 + (buffer.get(position) - '0'), 100_000);
+            position++;
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean isNumberEnd() {
+        if (position == limit) {
+            return true;
+        }
+        final byte b = buffer.get(position);
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean isNumberStart(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.';
+    }
+
+    private String substring(int start, int end) {
+        final byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reports progress and hashes the bytes read so far, so the content hash
+     * needs no separate pass over the file.
+     */
+    private void reportProgress() {
+        if (position - reportedPosition >= PROGRESS_STEP_BYTES) {
+            reportedPosition = position;
+            hashUpTo(position);
+            progressListener.accept(position);
+        }
+    }
+
+    private void hashUpTo(int end) {
+        if (end > hashedPosition) {
+            final ByteBuffer bytes = buffer.duplicate();
+            bytes.position(hashedPosition);
+            bytes.limit(end);
+            digest.update(bytes);
+            hashedPosition = end;
+        }
+    }
+
+}
@@ -17,6 +17,7 @@ package com.mlaskows;
 
 import com.mlaskows.antsp.config.*;
 import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.solver.StopCondition;
 import javafx.beans.property.*;
 
 public class Parameters {
@@ -33,6 +34,12 @@ public class Parameters {
     private IntegerProperty reinitializationCount = new SimpleIntegerProperty();
     private IntegerProperty weight = new SimpleIntegerProperty();
     private BooleanProperty localSearch = new SimpleBooleanProperty();
+    private IntegerProperty colonies = new SimpleIntegerProperty();
+    private BooleanProperty race = new SimpleBooleanProperty();
+    private BooleanProperty warmStart = new SimpleBooleanProperty();
+    private IntegerProperty timeLimit = new SimpleIntegerProperty();
+    private IntegerProperty targetLength = new SimpleIntegerProperty();
+    private DoubleProperty targetGap = new SimpleDoubleProperty();
 
     public void initParameters(int tspDimension) {
         final AcoConfig config;
@@ -64,6 +71,12 @@ public class Parameters {
         setNnFactor(config.getNearestNeighbourFactor());
         setAntsCount(config.getAntsCount());
         setMaxStagnationCount(config.getMaxStagnationCount());
+        setColonies(1);
+        setRace(false);
+        setWarmStart(false);
+        setTimeLimit(0);
+        setTargetLength(0);
+        setTargetGap(0);
     }
 
     public AcoConfig getConfig() {
@@ -90,6 +103,10 @@ public class Parameters {
         return configBuilder.build();
     }
 
+    public StopCondition getStopCondition() {
+        return StopCondition.of(getTimeLimit(), getTargetLength(), getTargetGap());
+    }
+
     public AlgorithmType getAlgorithmType() {
         return algorithmType.get();
     }
@@ -213,4 +230,76 @@ public class Parameters {
     public void setLocalSearch(boolean localSearch) {
         this.localSearch.set(localSearch);
     }
+
+    public int getColonies() {
+        return colonies.get();
+    }
+
+    public IntegerProperty coloniesProperty() {
+        return colonies;
+    }
+
+    public void setColonies(int colonies) {
+        this.colonies.set(colonies);
+    }
+
+    public boolean isRace() {
+        return race.get();
+    }
+
+    public BooleanProperty raceProperty() {
+        return race;
+    }
+
+    public void setRace(boolean race) {
+        this.race.set(race);
+    }
+
+    public boolean isWarmStart() {
+        return warmStart.get();
+    }
+
+    public BooleanProperty warmStartProperty() {
+        return warmStart;
+    }
+
+    public void setWarmStart(boolean warmStart) {
+        this.warmStart.set(warmStart);
+    }
+
+    public int getTimeLimit() {
+        return timeLimit.get();
+    }
+
+    public IntegerProperty timeLimitProperty() {
+        return timeLimit;
+    }
+
+    public void setTimeLimit(int timeLimit) {
+        this.timeLimit.set(timeLimit);
+    }
+
+    public int getTargetLength() {
+        return targetLength.get();
+    }
+
+    public IntegerProperty targetLengthProperty() {
+        return targetLength;
+    }
+
+    public void setTargetLength(int targetLength) {
+        this.targetLength.set(targetLength);
+    }
+
+    public double getTargetGap() {
+        return targetGap.get();
+    }
+
+    public DoubleProperty targetGapProperty() {
+        return targetGap;
+    }
+
+    public void setTargetGap(double targetGap) {
+        this.targetGap.set(targetGap);
+    }
 }
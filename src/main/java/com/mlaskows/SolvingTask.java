@@ -15,95 +15,193 @@
 
 package com.mlaskows;
 
-import com.mlaskows.antsp.config.AcoConfig;
-import com.mlaskows.antsp.config.MaxMinConfig;
-import com.mlaskows.antsp.config.RankedBasedConfig;
+import com.mlaskows.antsp.datamodel.Ant;
+import com.mlaskows.antsp.datamodel.IterationResult;
 import com.mlaskows.antsp.datamodel.Solution;
 import com.mlaskows.antsp.datamodel.data.StaticData;
-import com.mlaskows.antsp.datamodel.data.StaticDataBuilder;
-import com.mlaskows.antsp.solvers.AlgorithmType;
-import com.mlaskows.antsp.solvers.Solver;
-import com.mlaskows.antsp.solvers.antsolvers.AntSystemSolver;
-import com.mlaskows.antsp.solvers.antsolvers.ElitistAntSolver;
-import com.mlaskows.antsp.solvers.antsolvers.MaxMinAntSolver;
-import com.mlaskows.antsp.solvers.antsolvers.RankBasedAntSolver;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.checkpoint.Checkpoint;
+import com.mlaskows.checkpoint.CheckpointStore;
+import com.mlaskows.checkpoint.CheckpointWriter;
 import com.mlaskows.dialog.DialogUtil;
 import com.mlaskows.dialog.ProgressDialog;
-import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.metrics.Phase;
+import com.mlaskows.metrics.PhaseMetrics;
+import com.mlaskows.metrics.PhaseSpan;
+import com.mlaskows.solver.FramePublisher;
+import com.mlaskows.solver.LiveConfig;
+import com.mlaskows.solver.ParallelSolve;
+import com.mlaskows.solver.SolvingJob;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.concurrent.Task;
+import javafx.stage.Modality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 public class SolvingTask extends Task<Solution> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SolvingTask.class);
 
     private final ProgressDialog progressDialog = new ProgressDialog();
-    private final Tsp tsp;
-    private final AcoConfig config;
-    private final AlgorithmType algorithmType;
-    private Solver solver;
+    private final ParallelSolve parallelSolve;
+    private final PhaseMetrics metrics;
+    private final ReadOnlyObjectWrapper<Solution> bestSolution =
+            new ReadOnlyObjectWrapper<>();
+    private final FramePublisher<Solution> bestSolutionPublisher =
+            new FramePublisher<>(this::setBestSolution);
+    private volatile int bestTourLength = Integer.MAX_VALUE;
+    private volatile Solution bestSoFar;
+    private LiveConfig liveConfig;
+    private CheckpointWriter checkpointWriter;
+    private String checkpointHash;
+    private volatile ConfigSpec checkpointSpec;
+    private long previousSolveMillis;
+    private volatile long solveStartNanos;
 
-    public SolvingTask(Tsp tsp, AcoConfig config, AlgorithmType algorithmType) {
+    public SolvingTask(ParallelSolve parallelSolve, PhaseMetrics metrics) {
         super();
-        this.tsp = tsp;
-        this.config = config;
-        this.algorithmType = algorithmType;
-        progressDialog.setOnCloseRequest(event -> {
-            if (solver != null) {
-                solver.stop();
-            }
-            cancel();
-        });
+        this.parallelSolve = parallelSolve;
+        this.metrics = metrics;
+        // parameters form stays editable so they can be applied while solving
+        progressDialog.initModality(Modality.NONE);
+        progressDialog.setOnCloseRequest(event -> cancel());
+    }
+
+    /**
+     * Sets config whose views the jobs use, requested values are applied by
+     * each job between its iterations. Must be called before the task is
+     * started.
+     */
+    public void setLiveConfig(LiveConfig liveConfig) {
+        this.liveConfig = liveConfig;
+    }
+
+    public LiveConfig getLiveConfig() {
+        return liveConfig;
+    }
+
+    /**
+     * Makes the task save checkpoints of its best tour and the state of
+     * every job while solving. Must be called before the task
+     * is started.
+     *
+     * @param previousSolveMillis solving time of the run this one resumes
+     */
+    public void enableCheckpoints(CheckpointStore store, String contentHash,
+                                  ConfigSpec spec, long previousSolveMillis) {
+        this.checkpointHash = contentHash;
+        this.checkpointSpec = spec;
+        this.previousSolveMillis = previousSolveMillis;
+        this.checkpointWriter = CheckpointWriter.create(store, this::createCheckpoint);
+    }
+
+    /**
+     * Sets parameters saved in further checkpoints, for example after they
+     * have been applied to the running solve.
+     */
+    public void setCheckpointSpec(ConfigSpec spec) {
+        this.checkpointSpec = spec;
+    }
+
+    private Checkpoint createCheckpoint() {
+        final Solution best = bestSoFar;
+        final long start = solveStartNanos;
+        if (best == null || start == 0) {
+            return null;
+        }
+        final List<Checkpoint.Colony> colonies = parallelSolve.getJobs().stream()
+                .map(job -> new Checkpoint.Colony(job.getHistory().getSnapshot(),
+                        job.getIterationsWithNoImprovement()))
+                .collect(Collectors.toList());
+        final long solveMillis = previousSolveMillis
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Checkpoint(checkpointHash, checkpointSpec, best, colonies,
+                solveMillis);
     }
 
     @Override
     protected Solution call() throws Exception {
         runInPlatformThread(() -> progressDialog.setText("Initializing data..."));
-        final StaticData data = getData();
-        if (isCancelled()) {
-            return null;
+        for (SolvingJob job : parallelSolve.getJobs()) {
+            final StaticData data;
+            final PhaseSpan dataSpan = metrics.start(Phase.DATA);
+            try {
+                data = job.getData();
+            } finally {
+                dataSpan.close();
+            }
+            if (isCancelled()) {
+                return null;
+            }
+            data.getHeuristicSolution().ifPresent(this::publishIfBetter);
+            if (job.getWarmStart() != null) {
+                publishIfBetter(job.getWarmStart());
+            }
         }
         runInPlatformThread(() -> progressDialog.setText("Solving problem..."));
-        solver = getSolver(data);
-        return solver.getSolution();
-    }
-
-    private Solver getSolver(StaticData data) {
-        switch (algorithmType) {
-            case ANT_SYSTEM:
-                return new AntSystemSolver(data, config);
-            case RANK_BASED:
-                return new RankBasedAntSolver(data, (RankedBasedConfig) config);
-            case MIN_MAX:
-                return new MaxMinAntSolver(data, (MaxMinConfig) config);
-            case ELITIST:
-                return new ElitistAntSolver(data, config);
-            default:
-                throw new IllegalArgumentException(algorithmType.toString()
-                        + " not implemented yet");
+        solveStartNanos = System.nanoTime();
+        if (checkpointWriter != null) {
+            checkpointWriter.start();
+        }
+        final PhaseSpan solveSpan = metrics.start(Phase.SOLVE);
+        try {
+            return parallelSolve.solve(this::onIteration);
+        } finally {
+            solveSpan.close();
         }
     }
 
-    private StaticData getData() {
-        final StaticDataBuilder builder = new StaticDataBuilder(tsp);
-        if (algorithmType.isAntBased()) {
-            builder.withHeuristicInformationMatrix()
-            .withHeuristicSolution();
+    private void onIteration(IterationResult result) {
+        final Ant bestAntSoFar = result.getBestAntSoFar();
+        if (bestAntSoFar.getTourLength() < bestTourLength) {
+            publishIfBetter(bestAntSoFar.getSolution());
         }
-        return builder
-                .withNearestNeighbors(config.getNearestNeighbourFactor())
-                .build();
+    }
+
+    private synchronized void publishIfBetter(Solution solution) {
+        if (solution.getTourLength() < bestTourLength) {
+            bestTourLength = solution.getTourLength();
+            bestSoFar = solution;
+            bestSolutionPublisher.publish(solution);
+        }
+    }
+
+    private void setBestSolution(Solution solution) {
+        bestSolution.set(solution);
+        progressDialog.setText("Solving problem... best tour length: "
+                + solution.getTourLength());
+    }
+
+    public ReadOnlyObjectProperty<Solution> bestSolutionProperty() {
+        return bestSolution.getReadOnlyProperty();
+    }
+
+    public List<SolvingJob> getJobs() {
+        return parallelSolve.getJobs();
     }
 
     @Override
     protected void running() {
         progressDialog.show();
+        bestSolutionPublisher.start();
     }
 
     @Override
     protected void succeeded() {
+        stopPublishing();
+        progressDialog.hide();
+    }
+
+    @Override
+    protected void cancelled() {
+        parallelSolve.stop();
+        stopPublishing();
         progressDialog.hide();
     }
 
@@ -112,10 +210,19 @@ public class SolvingTask extends Task<Solution> {
         final String error = "Failed to solve ";
         final String message = getException().toString();
         LOG.error(error + message);
+        stopPublishing();
         progressDialog.hide();
         DialogUtil.showError(error, message);
     }
 
+    private void stopPublishing() {
+        bestSolutionPublisher.stop();
+        bestSolutionPublisher.flush();
+        if (checkpointWriter != null) {
+            checkpointWriter.stop();
+        }
+    }
+
     private void runInPlatformThread(Runnable runnable) {
         Platform.runLater(runnable);
     }
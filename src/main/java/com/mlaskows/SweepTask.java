@@ -0,0 +1,99 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows;
+
+import com.mlaskows.batch.BatchResult;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.batch.ParameterSweep;
+import com.mlaskows.batch.SweepRunner;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.dialog.DialogUtil;
+import com.mlaskows.dialog.SweepDialog;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SweepTask extends Task<List<BatchResult>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SweepTask.class);
+
+    private final SweepDialog sweepDialog;
+    private final Tsp tsp;
+    private final String tspContentHash;
+    private final ParameterSweep sweep;
+    private final SweepRunner runner;
+
+    public SweepTask(SweepDialog sweepDialog, Tsp tsp, String tspContentHash,
+                     ConfigSpec base, StaticDataCache staticDataCache) {
+        super();
+        this.sweepDialog = sweepDialog;
+        this.tsp = tsp;
+        this.tspContentHash = tspContentHash;
+        this.sweep = new ParameterSweep(base, sweepDialog.getRanges(),
+                sweepDialog.getMode(), sweepDialog.getSampleSize(), new Random());
+        this.runner = new SweepRunner(staticDataCache, sweepDialog.getThreads());
+    }
+
+    @Override
+    protected List<BatchResult> call() throws Exception {
+        updateMessage("Generating configurations...");
+        final List<ConfigSpec> configs = sweep.getConfigs();
+        final int runCount = SweepRunner.countRuns(sweep.getMode(), configs.size());
+        final AtomicInteger finished = new AtomicInteger();
+        updateMessage("Solving " + configs.size() + " configurations in "
+                + runCount + " runs...");
+        return runner.run(tsp.getName(), tsp, tspContentHash, sweep.getMode(),
+                configs, result -> {
+            updateMessage("Finished " + finished.incrementAndGet() + " of "
+                    + runCount + " runs");
+            Platform.runLater(() -> sweepDialog.addResult(result));
+        });
+    }
+
+    @Override
+    protected void running() {
+        sweepDialog.clearResults();
+        sweepDialog.bindStatus(messageProperty());
+        sweepDialog.setRunning(true);
+    }
+
+    @Override
+    protected void succeeded() {
+        sweepDialog.setRunning(false);
+    }
+
+    @Override
+    protected void cancelled() {
+        runner.stop();
+        sweepDialog.setRunning(false);
+    }
+
+    @Override
+    protected void failed() {
+        final String error = "Failed to sweep parameters ";
+        final String message = getException().toString();
+        LOG.error(error + message);
+        sweepDialog.setRunning(false);
+        DialogUtil.showError(error, message);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.dialog.DialogUtil;
+import com.mlaskows.tour.TourFiles;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+public class TourLoadingTask extends Task<Solution> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TourLoadingTask.class);
+
+    private final File file;
+    private final Tsp tsp;
+    private final String tspContentHash;
+
+    public TourLoadingTask(File file, Tsp tsp, String tspContentHash) {
+        super();
+        this.file = file;
+        this.tsp = tsp;
+        this.tspContentHash = tspContentHash;
+    }
+
+    @Override
+    protected Solution call() throws Exception {
+        return TourFiles.load(file, tsp, tspContentHash);
+    }
+
+    @Override
+    protected void failed() {
+        final String error = "Can't open tour file ";
+        final String message = getException().toString();
+        LOG.error(error + message);
+        DialogUtil.showError(error, message);
+    }
+
+}
@@ -15,26 +15,26 @@
 
 package com.mlaskows;
 
-import com.mlaskows.tsplib.parser.TspLibParser;
-import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.save.SolutionSaver;
 import javafx.stage.FileChooser;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Optional;
 
 public class TspFileHelper {
 
-    public static Optional<Tsp> getTsp() throws IOException {
+    public static Optional<File> chooseTspFile() {
         FileChooser fileChooser = new FileChooser();
         FileChooser.ExtensionFilter extFilter = new FileChooser
                 .ExtensionFilter("TSP file (*.tsp)", "*.tsp");
         fileChooser.getExtensionFilters().add(extFilter);
-        final File file = fileChooser.showOpenDialog(null);
-        if (file == null) {
-            return Optional.empty();
-        }
-        return Optional.of(TspLibParser.parseTsp(file.getAbsolutePath()));
+        return Optional.ofNullable(fileChooser.showOpenDialog(null));
+    }
+
+    public static Optional<File> chooseTourFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().addAll(SolutionSaver.getExtensionFilters());
+        return Optional.ofNullable(fileChooser.showOpenDialog(null));
     }
 
     public static String formatComment(String comment, int maxCommentLen) {
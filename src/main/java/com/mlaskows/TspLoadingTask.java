@@ -0,0 +1,177 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows;
+
+import com.mlaskows.data.StaticDataStore;
+import com.mlaskows.dialog.DialogUtil;
+import com.mlaskows.dialog.ProgressDialog;
+import com.mlaskows.draw.NodeTable;
+import com.mlaskows.metrics.Phase;
+import com.mlaskows.metrics.PhaseMetrics;
+import com.mlaskows.metrics.PhaseSpan;
+import com.mlaskows.tsplib.datamodel.ItemBuilder;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.stateparser.ParsingContext;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+public class TspLoadingTask extends Task<LoadedTsp> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TspLoadingTask.class);
+    private static final long PROGRESS_STEP_BYTES = 1 << 16;
+    private static final double BYTES_IN_MB = 1024 * 1024;
+
+    private final ProgressDialog progressDialog = new ProgressDialog();
+    private final File file;
+    private final PhaseMetrics metrics;
+
+    public TspLoadingTask(File file, PhaseMetrics metrics) {
+        super();
+        this.file = file;
+        this.metrics = metrics;
+        progressDialog.setOnCloseRequest(event -> cancel());
+    }
+
+    @Override
+    protected LoadedTsp call() throws Exception {
+        final PhaseSpan span = metrics.start(Phase.PARSE);
+        try {
+            return read();
+        } finally {
+            span.close();
+        }
+    }
+
+    private LoadedTsp read() throws Exception {
+        final long fileSize = file.length();
+        if (MappedTspReader.canRead(file)) {
+            final LoadedTsp loadedTsp = new MappedTspReader(file,
+                    bytesRead -> updateReadProgress(bytesRead, fileSize),
+                    this::isCancelled).read();
+            if (loadedTsp != null && loadedTsp.getNodeTable() == null) {
+                throw new IllegalArgumentException("TSP file can't be displayed");
+            }
+            return loadedTsp;
+        }
+        return readLines(fileSize);
+    }
+
+    private LoadedTsp readLines(long fileSize) throws Exception {
+        final MessageDigest digest = StaticDataStore.createDigest();
+        final ItemBuilder builder = new ItemBuilder();
+        final ParsingContext context = new ParsingContext();
+        try (CountingInputStream in = new CountingInputStream(new DigestInputStream(
+                Files.newInputStream(file.toPath()), digest));
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long reportedBytes = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isCancelled()) {
+                    return null;
+                }
+                final String trimmed = line.trim();
+                if (!trimmed.isEmpty()) {
+                    context.consumeLine(trimmed, builder);
+                }
+                if (in.getCount() - reportedBytes >= PROGRESS_STEP_BYTES) {
+                    reportedBytes = in.getCount();
+                    updateReadProgress(reportedBytes, fileSize);
+                }
+            }
+        }
+        updateMessage("Preparing map...");
+        final Tsp tsp = builder.buildTsp();
+        return new LoadedTsp(tsp, StaticDataStore.toHex(digest), new NodeTable(tsp));
+    }
+
+    private void updateReadProgress(long bytesRead, long fileSize) {
+        updateProgress(bytesRead, fileSize);
+        updateMessage(String.format("Reading file... %.1f / %.1f MB",
+                bytesRead / BYTES_IN_MB, fileSize / BYTES_IN_MB));
+    }
+
+    @Override
+    protected void running() {
+        progressDialog.bindText(messageProperty());
+        progressDialog.bindProgress(progressProperty());
+        progressDialog.show();
+    }
+
+    @Override
+    protected void succeeded() {
+        progressDialog.hide();
+    }
+
+    @Override
+    protected void cancelled() {
+        progressDialog.hide();
+    }
+
+    @Override
+    protected void failed() {
+        final String error = "Can't open TSP file ";
+        final String message = getException().toString();
+        LOG.error(error + message);
+        progressDialog.hide();
+        DialogUtil.showError(error, message);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.antsp.solvers.antsolvers;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.solvers.antsolvers.util.ant.IterationResultFactory;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.GenericPheromoneBehaviour;
+
+/**
+ * Exposes {@link GenericAntSolver} constructor so the GUI can plug its own
+ * {@link IterationResultFactory} into any of the ant solvers.
+ */
+public class ConfigurableAntSolver extends GenericAntSolver {
+
+    public ConfigurableAntSolver(StaticData data, AcoConfig config,
+                                 IterationResultFactory iterationResultFactory,
+                                 GenericPheromoneBehaviour pheromoneBehaviour) {
+        super(data, config, iterationResultFactory, pheromoneBehaviour);
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.data.StaticDataCache;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point which solves .tsp files without the GUI and
+ * writes one result line per problem and configuration.
+ */
+public class BatchApp {
+
+    private static final int EXIT_FAILED_JOBS = 1;
+    private static final int EXIT_USAGE = 2;
+
+    public static void main(String[] args) throws Exception {
+        final List<Path> paths = new ArrayList<>();
+        final List<ConfigSpec> configs = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean json = false;
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--config":
+                        configs.add(ConfigSpec.parse(value(args, ++i)));
+                        break;
+                    case "--config-file":
+                        configs.add(ConfigSpec.load(Paths.get(value(args, ++i))));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--format":
+                        json = parseFormat(value(args, ++i));
+                        break;
+                    case "--output":
+                        output = Paths.get(value(args, ++i));
+                        break;
+                    case "--help":
+                        printUsage(System.out);
+                        return;
+                    default:
+                        paths.add(Paths.get(args[i]));
+                }
+            }
+            if (paths.isEmpty() || threads < 1) {
+                throw new IllegalArgumentException("Expected at least one "
+                        + "directory or .tsp file and a positive thread count");
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            printUsage(System.err);
+            System.exit(EXIT_USAGE);
+        }
+        if (configs.isEmpty()) {
+            configs.add(new ConfigSpec(new HashMap<>()));
+        }
+
+        final List<Path> files = findTspFiles(paths);
+        final boolean jsonOutput = json;
+        try (PrintStream out = output == null ? System.out
+                : new PrintStream(Files.newOutputStream(output), false,
+                StandardCharsets.UTF_8.name())) {
+            if (!jsonOutput) {
+                out.println(BatchResult.getCsvHeader());
+            }
+            final BatchRunner runner = new BatchRunner(
+                    StaticDataCache.createDefault(), threads, result -> {
+                synchronized (out) {
+                    out.println(jsonOutput ? result.toJson() : result.toCsv());
+                    out.flush();
+                }
+            });
+            if (!runner.run(files, configs)) {
+                System.exit(EXIT_FAILED_JOBS);
+            }
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for "
+                    + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static boolean parseFormat(String format) {
+        switch (format) {
+            case "csv":
+                return false;
+            case "json":
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    private static List<Path> findTspFiles(List<Path> paths) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    files.addAll(children
+                            .filter(child -> child.toString().endsWith(".tsp"))
+                            .sorted()
+                            .collect(Collectors.toList()));
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: java -cp antsp-gui.jar " + BatchApp.class.getName()
+                + " [options] <directory or .tsp file>...");
+        out.println();
+        out.println("  --config key=value[,key=value...]  configuration, may be repeated");
+        out.println("  --config-file <file>               configuration in .properties format,"
+                + " may be repeated");
+        out.println("  --threads <count>                  concurrent solves (default: "
+                + "available processors)");
+        out.println("  --format csv|json                  output format (default: csv)");
+        out.println("  --output <file>                    write results to a file instead "
+                + "of standard output");
+        out.println();
+        out.println("Configuration keys: " + String.join(", ", ConfigSpec.KEYS));
+        out.println("Parameters which are not set use the defaults of the algorithm.");
+    }
+
+}
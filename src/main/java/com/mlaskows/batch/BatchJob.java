@@ -0,0 +1,99 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.Parameters;
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.solver.ParallelSolve;
+import com.mlaskows.solver.SolvingJob;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+
+/**
+ * Solves one problem with one configuration, turning failures into results.
+ */
+public class BatchJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchJob.class);
+
+    private final String file;
+    private final Tsp tsp;
+    private final String tspContentHash;
+    private final long loadNanos;
+    private final ConfigSpec spec;
+    private final StaticDataCache staticDataCache;
+    private volatile SolvingJob job;
+
+    public BatchJob(String file, Tsp tsp, String tspContentHash, long loadNanos,
+                    ConfigSpec spec, StaticDataCache staticDataCache) {
+        this.file = file;
+        this.tsp = tsp;
+        this.tspContentHash = tspContentHash;
+        this.loadNanos = loadNanos;
+        this.spec = spec;
+        this.staticDataCache = staticDataCache;
+    }
+
+    public BatchResult run() {
+        AcoConfig config = null;
+        try {
+            final Parameters parameters = spec.toParameters(tsp.getDimension());
+            config = parameters.getConfig();
+            job = new SolvingJob(tsp, tspContentHash, config,
+                    parameters.getAlgorithmType(), staticDataCache);
+            job.getData();
+            final Solution solution = new ParallelSolve(
+                    Collections.singletonList(job), parameters.getStopCondition())
+                    .solve(result -> {
+                    });
+            return new BatchResult(file, tsp.getName(), tsp.getDimension(),
+                    job.getAlgorithmType(), config, solution.getTourLength(),
+                    job.getIterations(), loadNanos, job.getDataNanos(),
+                    job.getSolveNanos(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BatchResult(file, tsp.getName(), tsp.getDimension(),
+                    spec.getAlgorithmType(), config, 0, 0, loadNanos, 0, 0,
+                    e.toString());
+        } catch (RuntimeException | OutOfMemoryError e) {
+            LOG.error("Failed to solve " + file + " with " + spec + " "
+                    + e.getMessage());
+            final SolvingJob failed = job;
+            return new BatchResult(file, tsp.getName(), tsp.getDimension(),
+                    spec.getAlgorithmType(), config, 0,
+                    failed == null ? 0 : failed.getIterations(), loadNanos,
+                    failed == null ? 0 : failed.getDataNanos(),
+                    failed == null ? 0 : failed.getSolveNanos(), e.toString());
+        }
+    }
+
+    public void stop() {
+        final SolvingJob running = job;
+        if (running != null) {
+            running.stop();
+        }
+    }
+
+    public ConfigSpec getSpec() {
+        return spec;
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of one batch job, written as a single CSV or JSON line.
+ */
+public class BatchResult {
+
+    private static final List<String> COLUMNS = Arrays.asList("file", "name",
+            "dimension", "algorithm", "evaporationFactor", "pheromoneImportance",
+            "heuristicImportance", "nnFactor", "antsCount", "maxStagnationCount",
+            "localSearch", "tourLength", "iterations", "loadMs", "dataMs",
+            "solveMs", "error");
+
+    private final String file;
+    private final String name;
+    private final int dimension;
+    private final AlgorithmType algorithmType;
+    private final AcoConfig config;
+    private final int tourLength;
+    private final int iterations;
+    private final long loadNanos;
+    private final long dataNanos;
+    private final long solveNanos;
+    private final String error;
+
+    public BatchResult(String file, String name, int dimension,
+                       AlgorithmType algorithmType, AcoConfig config,
+                       int tourLength, int iterations, long loadNanos,
+                       long dataNanos, long solveNanos, String error) {
+        this.file = file;
+        this.name = name;
+        this.dimension = dimension;
+        this.algorithmType = algorithmType;
+        this.config = config;
+        this.tourLength = tourLength;
+        this.iterations = iterations;
+        this.loadNanos = loadNanos;
+        this.dataNanos = dataNanos;
+        this.solveNanos = solveNanos;
+        this.error = error;
+    }
+
+    public static BatchResult failed(String file, String error) {
+        return new BatchResult(file, null, 0, null, null, 0, 0, 0, 0, 0, error);
+    }
+
+    public static String getCsvHeader() {
+        return String.join(",", COLUMNS);
+    }
+
+    public String toCsv() {
+        return getValues().stream()
+                .map(value -> value == null ? "" : escapeCsv(value.toString()))
+                .collect(Collectors.joining(","));
+    }
+
+    public String toJson() {
+        final List<Object> values = getValues();
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(COLUMNS.get(i)).append("\":");
+            final Object value = values.get(i);
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else {
+                sb.append('"').append(escapeJson(value.toString())).append('"');
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private List<Object> getValues() {
+        final boolean configured = config != null;
+        return Arrays.asList(file, name, configured ? dimension : null,
+                algorithmType == null ? null : algorithmType.name(),
+                configured ? config.getPheromoneEvaporationFactor() : null,
+                configured ? config.getPheromoneImportance() : null,
+                configured ? config.getHeuristicImportance() : null,
+                configured ? config.getNearestNeighbourFactor() : null,
+                configured ? config.getAntsCount() : null,
+                configured ? config.getMaxStagnationCount() : null,
+                configured ? config.isWithLocalSearch() : null,
+                isFailed() ? null : tourLength,
+                isFailed() ? null : iterations,
+                toMillis(loadNanos), toMillis(dataNanos), toMillis(solveNanos),
+                error);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static String escapeJson(String value) {
+        final StringBuilder sb = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.toString();
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public AlgorithmType getAlgorithmType() {
+        return algorithmType;
+    }
+
+    public AcoConfig getConfig() {
+        return config;
+    }
+
+    public int getTourLength() {
+        return tourLength;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    public long getDataNanos() {
+        return dataNanos;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.LoadedTsp;
+import com.mlaskows.MappedTspReader;
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.data.StaticDataStore;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.parser.TspLibParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Solves every problem with every configuration, running at most
+ * {@code threads} solves at a time. Problems are loaded one at a time, just
+ * before their jobs are queued, and share static data through the cache.
+ */
+public class BatchRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRunner.class);
+
+    private final StaticDataCache staticDataCache;
+    private final int threads;
+    private final Consumer<BatchResult> resultConsumer;
+
+    public BatchRunner(StaticDataCache staticDataCache, int threads,
+                       Consumer<BatchResult> resultConsumer) {
+        this.staticDataCache = staticDataCache;
+        this.threads = threads;
+        this.resultConsumer = resultConsumer;
+    }
+
+    /**
+     * @return {@code true} if all jobs succeeded
+     */
+    public boolean run(List<Path> files, List<ConfigSpec> configs)
+            throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new DaemonThreadFactory("batch-solver"));
+        final Semaphore slots = new Semaphore(threads);
+        final AtomicBoolean succeeded = new AtomicBoolean(true);
+        try {
+            for (Path file : files) {
+                final long start = System.nanoTime();
+                final LoadedTsp loadedTsp;
+                try {
+                    loadedTsp = load(file);
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("Can't load " + file + " " + e.getMessage());
+                    succeeded.set(false);
+                    resultConsumer.accept(BatchResult.failed(file.toString(),
+                            e.toString()));
+                    continue;
+                }
+                final long loadNanos = System.nanoTime() - start;
+                for (ConfigSpec config : configs) {
+                    slots.acquire();
+                    executor.execute(() -> {
+                        try {
+                            final BatchResult result = new BatchJob(
+                                    file.toString(), loadedTsp.getTsp(),
+                                    loadedTsp.getContentHash(), loadNanos, config,
+                                    staticDataCache).run();
+                            if (result.isFailed()) {
+                                succeeded.set(false);
+                            }
+                            resultConsumer.accept(result);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+        return succeeded.get();
+    }
+
+    private static LoadedTsp load(Path file) throws IOException {
+        if (MappedTspReader.canRead(file.toFile())) {
+            return new MappedTspReader(file.toFile(), bytesRead -> {
+            }, () -> false).read();
+        }
+        final Tsp tsp = TspLibParser.parseTsp(file.toString());
+        return new LoadedTsp(tsp, StaticDataStore.hash(file), null);
+    }
+
+}
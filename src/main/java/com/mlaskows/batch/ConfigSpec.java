@@ -0,0 +1,225 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.Parameters;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Parameter values of one batch configuration, applied on top of the
+ * defaults which {@link Parameters} computes for the problem dimension.
+ */
+public class ConfigSpec {
+
+    public static final String ALGORITHM = "algorithm";
+    public static final String EVAPORATION_FACTOR = "evaporationFactor";
+    public static final String PHEROMONE_IMPORTANCE = "pheromoneImportance";
+    public static final String HEURISTIC_IMPORTANCE = "heuristicImportance";
+    public static final String NN_FACTOR = "nnFactor";
+    public static final String ANTS_COUNT = "antsCount";
+    public static final String MAX_STAGNATION_COUNT = "maxStagnationCount";
+    public static final String REINITIALIZATION_COUNT = "reinitializationCount";
+    public static final String WEIGHT = "weight";
+    public static final String LOCAL_SEARCH = "localSearch";
+    public static final String TIME_LIMIT = "timeLimit";
+    public static final String TARGET_LENGTH = "targetLength";
+    public static final String TARGET_GAP = "targetGap";
+    public static final List<String> KEYS = Collections.unmodifiableList(
+            Arrays.asList(ALGORITHM, EVAPORATION_FACTOR, PHEROMONE_IMPORTANCE,
+                    HEURISTIC_IMPORTANCE, NN_FACTOR, ANTS_COUNT,
+                    MAX_STAGNATION_COUNT, REINITIALIZATION_COUNT, WEIGHT,
+                    LOCAL_SEARCH, TIME_LIMIT, TARGET_LENGTH, TARGET_GAP));
+
+    private final Map<String, String> values;
+
+    public ConfigSpec(Map<String, String> values) {
+        for (String key : values.keySet()) {
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown parameter " + key);
+            }
+        }
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        getAlgorithmType();
+        final Parameters parameters = new Parameters();
+        values.forEach((key, value) -> apply(parameters, key, value));
+    }
+
+    public static ConfigSpec of(Parameters parameters) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put(ALGORITHM, parameters.getAlgorithmType().name());
+        values.put(EVAPORATION_FACTOR, String.valueOf(parameters.getEvaporationFactor()));
+        values.put(PHEROMONE_IMPORTANCE, String.valueOf(parameters.getPheromoneImportance()));
+        values.put(HEURISTIC_IMPORTANCE, String.valueOf(parameters.getHeuristicImportance()));
+        values.put(NN_FACTOR, String.valueOf(parameters.getNnFactor()));
+        values.put(ANTS_COUNT, String.valueOf(parameters.getAntsCount()));
+        values.put(MAX_STAGNATION_COUNT, String.valueOf(parameters.getMaxStagnationCount()));
+        values.put(REINITIALIZATION_COUNT, String.valueOf(parameters.getReinitializationCount()));
+        values.put(WEIGHT, String.valueOf(parameters.getWeight()));
+        values.put(LOCAL_SEARCH, String.valueOf(parameters.isLocalSearch()));
+        values.put(TIME_LIMIT, String.valueOf(parameters.getTimeLimit()));
+        values.put(TARGET_LENGTH, String.valueOf(parameters.getTargetLength()));
+        values.put(TARGET_GAP, String.valueOf(parameters.getTargetGap()));
+        return new ConfigSpec(values);
+    }
+
+    /**
+     * Parses {@code key=value} pairs separated with commas.
+     */
+    public static ConfigSpec parse(String text) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (String pair : text.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            final String[] keyAndValue = pair.split("=", 2);
+            if (keyAndValue.length != 2) {
+                throw new IllegalArgumentException("Expected key=value but got "
+                        + pair);
+            }
+            values.put(keyAndValue[0].trim(), keyAndValue[1].trim());
+        }
+        return new ConfigSpec(values);
+    }
+
+    public static ConfigSpec load(Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key).trim());
+        }
+        return new ConfigSpec(values);
+    }
+
+    public AlgorithmType getAlgorithmType() {
+        final String algorithm = values.get(ALGORITHM);
+        return algorithm == null ? AlgorithmType.values()[0]
+                : AlgorithmType.valueOf(algorithm);
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public ConfigSpec with(String key, String value) {
+        final Map<String, String> changed = new LinkedHashMap<>(values);
+        changed.put(key, value);
+        return new ConfigSpec(changed);
+    }
+
+    public Parameters toParameters(int tspDimension) {
+        final Parameters parameters = new Parameters();
+        parameters.setAlgorithmType(getAlgorithmType());
+        parameters.initParameters(tspDimension);
+        values.forEach((key, value) -> apply(parameters, key, value));
+        return parameters;
+    }
+
+    /**
+     * Sets the algorithm and values of the spec on existing parameters, for
+     * example ones bound to the form. Values the spec doesn't contain keep
+     * defaults of the algorithm if it changes.
+     */
+    public void applyTo(Parameters parameters) {
+        parameters.setAlgorithmType(getAlgorithmType());
+        values.forEach((key, value) -> apply(parameters, key, value));
+    }
+
+    private static void apply(Parameters parameters, String key, String value) {
+        switch (key) {
+            case EVAPORATION_FACTOR:
+                parameters.setEvaporationFactor(Double.parseDouble(value));
+                break;
+            case PHEROMONE_IMPORTANCE:
+                parameters.setPheromoneImportance(Integer.parseInt(value));
+                break;
+            case HEURISTIC_IMPORTANCE:
+                parameters.setHeuristicImportance(Integer.parseInt(value));
+                break;
+            case NN_FACTOR:
+                parameters.setNnFactor(Integer.parseInt(value));
+                break;
+            case ANTS_COUNT:
+                parameters.setAntsCount(Integer.parseInt(value));
+                break;
+            case MAX_STAGNATION_COUNT:
+                parameters.setMaxStagnationCount(Integer.parseInt(value));
+                break;
+            case REINITIALIZATION_COUNT:
+                parameters.setReinitializationCount(Integer.parseInt(value));
+                break;
+            case WEIGHT:
+                parameters.setWeight(Integer.parseInt(value));
+                break;
+            case LOCAL_SEARCH:
+                parameters.setLocalSearch(parseBoolean(value));
+                break;
+            case TIME_LIMIT:
+                parameters.setTimeLimit(Integer.parseInt(value));
+                break;
+            case TARGET_LENGTH:
+                parameters.setTargetLength(Integer.parseInt(value));
+                break;
+            case TARGET_GAP:
+                parameters.setTargetGap(Double.parseDouble(value));
+                break;
+            default:
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (!"true".equals(value) && !"false".equals(value)) {
+            throw new IllegalArgumentException("Expected true or false but got "
+                    + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return values.equals(((ConfigSpec) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Values of one parameter in a sweep, written as {@code key=min:max:step}
+ * or {@code key=value|value|...}.
+ */
+public class ParameterRange {
+
+    private static final int MAX_VALUES = 10_000;
+
+    private final String key;
+    private final List<String> values;
+
+    public ParameterRange(String key, List<String> values) {
+        if (!ConfigSpec.KEYS.contains(key)) {
+            throw new IllegalArgumentException("Unknown parameter " + key);
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No values for " + key);
+        }
+        this.key = key;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    public static ParameterRange parse(String text) {
+        final String[] keyAndValues = text.split("=", 2);
+        if (keyAndValues.length != 2) {
+            throw new IllegalArgumentException("Expected key=values but got " + text);
+        }
+        final String key = keyAndValues[0].trim();
+        final String values = keyAndValues[1].trim();
+        if (values.contains(":")) {
+            return new ParameterRange(key, parseSteps(values));
+        }
+        final List<String> list = new ArrayList<>();
+        for (String value : values.split("\\|")) {
+            if (!value.trim().isEmpty()) {
+                list.add(value.trim());
+            }
+        }
+        return new ParameterRange(key, list);
+    }
+
+    private static List<String> parseSteps(String text) {
+        final List<String> parts = Arrays.asList(text.split(":"));
+        if (parts.size() != 3) {
+            throw new IllegalArgumentException("Expected min:max:step but got " + text);
+        }
+        final BigDecimal min = new BigDecimal(parts.get(0).trim());
+        final BigDecimal max = new BigDecimal(parts.get(1).trim());
+        final BigDecimal step = new BigDecimal(parts.get(2).trim());
+        if (step.signum() <= 0) {
+            throw new IllegalArgumentException("Step must be positive in " + text);
+        }
+        final List<String> values = new ArrayList<>();
+        for (BigDecimal value = min; value.compareTo(max) <= 0; value = value.add(step)) {
+            if (values.size() == MAX_VALUES) {
+                throw new IllegalArgumentException("Too many values in " + text);
+            }
+            values.add(value.stripTrailingZeros().toPlainString());
+        }
+        return values;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + String.join("|", values);
+    }
+
+}
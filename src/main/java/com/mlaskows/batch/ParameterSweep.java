@@ -0,0 +1,128 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Configurations to try, generated from a base configuration and parameter
+ * ranges either as the full grid or as a random sample of it. Successive
+ * halving starts from a random sample and is run by {@link SweepRunner}.
+ */
+public class ParameterSweep {
+
+    public enum Mode {
+
+        GRID("Grid"),
+        RANDOM("Random sample"),
+        SUCCESSIVE_HALVING("Successive halving");
+
+        private final String name;
+
+        Mode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    private static final int MAX_GRID_SIZE = 100_000;
+
+    private final ConfigSpec base;
+    private final List<ParameterRange> ranges;
+    private final Mode mode;
+    private final int sampleSize;
+    private final Random random;
+
+    public ParameterSweep(ConfigSpec base, List<ParameterRange> ranges,
+                          Mode mode, int sampleSize, Random random) {
+        this.base = base;
+        this.ranges = ranges;
+        this.mode = mode;
+        this.sampleSize = sampleSize;
+        this.random = random;
+    }
+
+    public List<ConfigSpec> getConfigs() {
+        final long gridSize = getGridSize();
+        if (mode != Mode.GRID && gridSize > sampleSize) {
+            return getRandomSample();
+        }
+        if (gridSize > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Grid has " + gridSize
+                    + " configurations, use a random sample instead");
+        }
+        return getGrid();
+    }
+
+    public long getGridSize() {
+        long size = 1;
+        try {
+            for (ParameterRange range : ranges) {
+                size = Math.multiplyExact(size, range.getValues().size());
+            }
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+        return size;
+    }
+
+    private List<ConfigSpec> getGrid() {
+        List<ConfigSpec> configs = Collections.singletonList(base);
+        for (ParameterRange range : ranges) {
+            final List<ConfigSpec> expanded = new ArrayList<>();
+            for (ConfigSpec config : configs) {
+                for (String value : range.getValues()) {
+                    expanded.add(config.with(range.getKey(), value));
+                }
+            }
+            configs = expanded;
+        }
+        return configs;
+    }
+
+    private List<ConfigSpec> getRandomSample() {
+        final Set<ConfigSpec> sample = new LinkedHashSet<>();
+        while (sample.size() < sampleSize) {
+            ConfigSpec config = base;
+            for (ParameterRange range : ranges) {
+                final List<String> values = range.getValues();
+                config = config.with(range.getKey(),
+                        values.get(random.nextInt(values.size())));
+            }
+            sample.add(config);
+        }
+        return new ArrayList<>(sample);
+    }
+
+    public ConfigSpec getBase() {
+        return base;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+}
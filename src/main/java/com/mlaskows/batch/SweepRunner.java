@@ -0,0 +1,183 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.batch;
+
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the configurations of a {@link ParameterSweep} on one problem,
+ * {@code threads} at a time. Configurations which use the same nearest
+ * neighbour factor share static data through the cache.
+ * <p>
+ * Successive halving runs all sampled configurations with a fraction of
+ * their max stagnation count, keeps the better half and doubles the budget
+ * until one configuration runs with its full budget.
+ */
+public class SweepRunner {
+
+    private static final Comparator<BatchResult> BY_TOUR_LENGTH = Comparator
+            .comparing(BatchResult::isFailed)
+            .thenComparingInt(BatchResult::getTourLength);
+
+    private final StaticDataCache staticDataCache;
+    private final int threads;
+    private final Set<BatchJob> runningJobs = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+
+    public SweepRunner(StaticDataCache staticDataCache, int threads) {
+        this.staticDataCache = staticDataCache;
+        this.threads = threads;
+    }
+
+    /**
+     * @param configs configurations generated once by the sweep, because
+     *                random ones differ on every call of
+     *                {@link ParameterSweep#getConfigs()}
+     */
+    public List<BatchResult> run(String file, Tsp tsp, String tspContentHash,
+                                 ParameterSweep.Mode mode, List<ConfigSpec> configs,
+                                 Consumer<BatchResult> resultConsumer)
+            throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new DaemonThreadFactory("sweep-solver"));
+        try {
+            if (mode != ParameterSweep.Mode.SUCCESSIVE_HALVING) {
+                return runRound(executor, file, tsp, tspContentHash, configs,
+                        resultConsumer);
+            }
+            return runSuccessiveHalving(executor, file, tsp, tspContentHash,
+                    configs, resultConsumer);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return number of runs needed for the configurations, including all
+     * rounds of successive halving
+     */
+    public static int countRuns(ParameterSweep.Mode mode, int configs) {
+        if (mode != ParameterSweep.Mode.SUCCESSIVE_HALVING) {
+            return configs;
+        }
+        int runs = 0;
+        int survivors = configs;
+        for (int rounds = getRounds(configs); rounds >= 0; rounds--) {
+            runs += survivors;
+            survivors = (survivors + 1) / 2;
+        }
+        return runs;
+    }
+
+    private static int getRounds(int configs) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(configs - 1, 0));
+    }
+
+    private List<BatchResult> runSuccessiveHalving(
+            ExecutorService executor, String file, Tsp tsp, String tspContentHash,
+            List<ConfigSpec> configs, Consumer<BatchResult> resultConsumer)
+            throws InterruptedException {
+        final List<BatchResult> allResults = new ArrayList<>();
+        int rounds = getRounds(configs.size());
+        List<ConfigSpec> survivors = configs;
+        while (!stopped) {
+            final int divider = 1 << rounds;
+            final List<ConfigSpec> budgeted = survivors.stream()
+                    .map(config -> withBudget(config, tsp.getDimension(), divider))
+                    .collect(Collectors.toList());
+            final List<BatchResult> results = runRound(executor, file, tsp,
+                    tspContentHash, budgeted, resultConsumer);
+            allResults.addAll(results);
+            if (rounds == 0) {
+                break;
+            }
+            final List<ConfigSpec> previous = survivors;
+            survivors = IntStream.range(0, results.size())
+                    .boxed()
+                    .sorted(Comparator.comparing(results::get, BY_TOUR_LENGTH))
+                    .limit((previous.size() + 1) / 2)
+                    .map(previous::get)
+                    .collect(Collectors.toList());
+            rounds--;
+        }
+        return allResults;
+    }
+
+    private static ConfigSpec withBudget(ConfigSpec config, int tspDimension,
+                                         int divider) {
+        final int fullBudget = config.toParameters(tspDimension)
+                .getMaxStagnationCount();
+        return config.with(ConfigSpec.MAX_STAGNATION_COUNT,
+                String.valueOf(Math.max(1, fullBudget / divider)));
+    }
+
+    private List<BatchResult> runRound(ExecutorService executor, String file,
+                                       Tsp tsp, String tspContentHash,
+                                       List<ConfigSpec> configs,
+                                       Consumer<BatchResult> resultConsumer)
+            throws InterruptedException {
+        final List<Future<BatchResult>> futures = new ArrayList<>();
+        for (ConfigSpec config : configs) {
+            final BatchJob job = new BatchJob(file, tsp, tspContentHash, 0,
+                    config, staticDataCache);
+            futures.add(executor.submit(() -> {
+                if (stopped) {
+                    return BatchResult.failed(file, "Stopped");
+                }
+                runningJobs.add(job);
+                try {
+                    final BatchResult result = job.run();
+                    if (!stopped) {
+                        resultConsumer.accept(result);
+                    }
+                    return result;
+                } finally {
+                    runningJobs.remove(job);
+                }
+            }));
+        }
+        final List<BatchResult> results = new ArrayList<>();
+        for (Future<BatchResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                results.add(BatchResult.failed(file, e.getCause().toString()));
+            }
+        }
+        return results;
+    }
+
+    public void stop() {
+        stopped = true;
+        runningJobs.forEach(BatchJob::stop);
+    }
+
+}
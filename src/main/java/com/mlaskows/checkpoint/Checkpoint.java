@@ -0,0 +1,108 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.checkpoint;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.solver.ConvergenceHistory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of a solve needed to continue it: parameters, the best tour, the
+ * solving time so far and per colony its convergence history with the
+ * iteration count and the iterations since it last improved.
+ * Pheromone levels are private to solvers, so a resumed run rebuilds them
+ * from the best tour like a warm start.
+ */
+public class Checkpoint {
+
+    private final String contentHash;
+    private final ConfigSpec spec;
+    private final Solution solution;
+    private final List<Colony> colonies;
+    private final long solveMillis;
+
+    public Checkpoint(String contentHash, ConfigSpec spec, Solution solution,
+                      List<Colony> colonies, long solveMillis) {
+        this.contentHash = contentHash;
+        this.spec = spec;
+        this.solution = solution;
+        this.colonies = Collections.unmodifiableList(colonies);
+        this.solveMillis = solveMillis;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ConfigSpec getSpec() {
+        return spec;
+    }
+
+    public Solution getSolution() {
+        return solution;
+    }
+
+    public List<Colony> getColonies() {
+        return colonies;
+    }
+
+    /**
+     * @return iterations of all colonies
+     */
+    public long getIterations() {
+        return colonies.stream()
+                .mapToLong(colony -> colony.getHistory().getIterations())
+                .sum();
+    }
+
+    public long getSolveMillis() {
+        return solveMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{" +
+                "tourLength=" + solution.getTourLength() +
+                ", iterations=" + getIterations() +
+                ", solveMillis=" + solveMillis +
+                '}';
+    }
+
+    public static class Colony {
+
+        private final ConvergenceHistory.Snapshot history;
+        private final int iterationsWithNoImprovement;
+
+        public Colony(ConvergenceHistory.Snapshot history,
+                      int iterationsWithNoImprovement) {
+            this.history = history;
+            this.iterationsWithNoImprovement = iterationsWithNoImprovement;
+        }
+
+        public ConvergenceHistory.Snapshot getHistory() {
+            return history;
+        }
+
+        public int getIterationsWithNoImprovement() {
+            return iterationsWithNoImprovement;
+        }
+
+    }
+
+}
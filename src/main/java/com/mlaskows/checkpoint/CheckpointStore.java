@@ -0,0 +1,183 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.checkpoint;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.batch.ConfigSpec;
+import com.mlaskows.solver.ConvergenceHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the latest {@link Checkpoint} of each problem in a binary file named
+ * after the content hash of its .tsp file. Files are written to a temporary
+ * file first and moved in place, so a crash while writing leaves the
+ * previous checkpoint intact.
+ */
+public class CheckpointStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckpointStore.class);
+    private static final String DIRECTORY_PROPERTY = "antsp.checkpoint.dir";
+    private static final int MAGIC = 0x41435032;
+    private static final int SINGLE_HISTORY_MAGIC = 0x41435031;
+
+    private final Path directory;
+
+    public CheckpointStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public static CheckpointStore createDefault() {
+        final String defaultDirectory = Paths
+                .get(System.getProperty("user.home"), ".antsp-gui", "checkpoints")
+                .toString();
+        return new CheckpointStore(Paths.get(System.getProperty(DIRECTORY_PROPERTY,
+                defaultDirectory)));
+    }
+
+    public void save(Checkpoint checkpoint) throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, "checkpoint", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporary)))) {
+                write(out, checkpoint);
+            }
+            Files.move(temporary, getFile(checkpoint.getContentHash()),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return checkpoint of the problem or empty if there is none
+     * @throws IllegalArgumentException if the checkpoint doesn't fit the
+     *                                  problem or is malformed
+     */
+    public Optional<Checkpoint> load(String contentHash, int dimension)
+            throws IOException {
+        final Path file = getFile(contentHash);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        LOG.debug("Loading checkpoint from " + file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(file)))) {
+            return Optional.of(read(in, contentHash, dimension));
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Checkpoint file is truncated");
+        }
+    }
+
+    private Path getFile(String contentHash) {
+        return directory.resolve(contentHash + ".checkpoint");
+    }
+
+    private static void write(DataOutputStream out, Checkpoint checkpoint)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeUTF(checkpoint.getContentHash());
+        final Map<String, String> values = checkpoint.getSpec().getValues();
+        out.writeInt(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+        out.writeLong(checkpoint.getSolveMillis());
+        final Solution solution = checkpoint.getSolution();
+        final List<Integer> tour = solution.getTour();
+        // closing city is the first one again
+        out.writeInt(tour.size() - 1);
+        out.writeInt(solution.getTourLength());
+        for (int i = 0; i < tour.size() - 1; i++) {
+            out.writeInt(tour.get(i));
+        }
+        out.writeInt(checkpoint.getColonies().size());
+        for (Checkpoint.Colony colony : checkpoint.getColonies()) {
+            out.writeInt(colony.getIterationsWithNoImprovement());
+            colony.getHistory().write(out);
+        }
+    }
+
+    private static Checkpoint read(DataInputStream in, String contentHash,
+                                   int dimension) throws IOException {
+        final int magic = in.readInt();
+        if (magic == SINGLE_HISTORY_MAGIC) {
+            throw new IllegalArgumentException("Checkpoint has no colony states, "
+                    + "it was saved by an older version");
+        }
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("Not a checkpoint file");
+        }
+        if (!in.readUTF().equals(contentHash)) {
+            throw new IllegalArgumentException("Checkpoint was saved for a different problem");
+        }
+        final int valuesCount = in.readInt();
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < valuesCount; i++) {
+            values.put(in.readUTF(), in.readUTF());
+        }
+        final long solveMillis = in.readLong();
+        final int size = in.readInt();
+        if (size != dimension) {
+            throw new IllegalArgumentException("Checkpoint tour has " + size
+                    + " cities but the problem has " + dimension);
+        }
+        final int tourLength = in.readInt();
+        final boolean[] visited = new boolean[size];
+        final List<Integer> tour = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) {
+            final int node = in.readInt();
+            if (node < 0 || node >= size || visited[node]) {
+                throw new IllegalArgumentException("Checkpoint tour is not a permutation of cities");
+            }
+            visited[node] = true;
+            tour.add(node);
+        }
+        tour.add(tour.get(0));
+        final int coloniesCount = in.readInt();
+        if (coloniesCount < 1) {
+            throw new IllegalArgumentException("Checkpoint has no colonies");
+        }
+        final List<Checkpoint.Colony> colonies = new ArrayList<>();
+        for (int i = 0; i < coloniesCount; i++) {
+            final int iterationsWithNoImprovement = in.readInt();
+            colonies.add(new Checkpoint.Colony(ConvergenceHistory.Snapshot.read(in),
+                    iterationsWithNoImprovement));
+        }
+        return new Checkpoint(contentHash, new ConfigSpec(values),
+                new Solution(tour, tourLength), colonies, solveMillis);
+    }
+
+}
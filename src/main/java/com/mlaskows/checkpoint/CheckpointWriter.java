@@ -0,0 +1,92 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.checkpoint;
+
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Periodically saves checkpoints of a running solve on its own thread. The
+ * source is called from that thread, so it must only read state the solver
+ * publishes safely. Checkpoints without new iterations aren't written again.
+ */
+public class CheckpointWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckpointWriter.class);
+    private static final String INTERVAL_PROPERTY = "antsp.checkpoint.interval";
+    private static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final CheckpointStore store;
+    private final Supplier<Checkpoint> source;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor = Executors
+            .newSingleThreadScheduledExecutor(new DaemonThreadFactory("checkpoint"));
+    private long savedIterations = -1;
+
+    public CheckpointWriter(CheckpointStore store, Supplier<Checkpoint> source,
+                            long intervalMillis) {
+        this.store = store;
+        this.source = source;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Uses the interval in seconds from the {@code antsp.checkpoint.interval}
+     * system property, one minute by default.
+     */
+    public static CheckpointWriter create(CheckpointStore store,
+                                          Supplier<Checkpoint> source) {
+        return new CheckpointWriter(store, source, TimeUnit.SECONDS.toMillis(
+                Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS)));
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::save, intervalMillis,
+                intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the last checkpoint in the background and stops.
+     */
+    public void stop() {
+        if (!executor.isShutdown()) {
+            executor.execute(this::save);
+            executor.shutdown();
+        }
+    }
+
+    private void save() {
+        final Checkpoint checkpoint = source.get();
+        if (checkpoint == null || checkpoint.getIterations() == savedIterations) {
+            return;
+        }
+        try {
+            store.save(checkpoint);
+            savedIterations = checkpoint.getIterations();
+            LOG.debug("Saved " + checkpoint);
+        } catch (IOException e) {
+            LOG.error("Can't save checkpoint " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.data;
+
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.datamodel.data.StaticDataBuilder;
+import com.mlaskows.tsplib.datamodel.item.Node;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps recently built {@link StaticData} in memory, evicting the least
+ * recently used entries once their estimated size exceeds the cap. Concurrent
+ * requests for data that is being built wait for that build to finish.
+ * Interrupting the building thread cancels the build; waiting requests then
+ * build the data themselves.
+ */
+public class StaticDataCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticDataCache.class);
+    private static final String MAX_BYTES_PROPERTY = "antsp.staticDataCache.maxBytes";
+    private static final double BYTES_IN_GB = 1024 * 1024 * 1024;
+
+    private final long maxBytes;
+    private final StaticDataStore store;
+    private final Map<StaticDataKey, Entry> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<StaticDataKey, CompletableFuture<StaticData>> pending =
+            new HashMap<>();
+    private long usedBytes;
+
+    public StaticDataCache(long maxBytes, StaticDataStore store) {
+        this.maxBytes = maxBytes;
+        this.store = store;
+    }
+
+    public static StaticDataCache createDefault() {
+        return new StaticDataCache(Long.getLong(MAX_BYTES_PROPERTY,
+                Runtime.getRuntime().maxMemory() / 4),
+                StaticDataStore.createDefault());
+    }
+
+    public StaticData get(StaticDataKey key) {
+        final CompletableFuture<StaticData> future;
+        final boolean owner;
+        synchronized (this) {
+            final Entry cached = entries.get(key);
+            if (cached != null) {
+                LOG.debug("Using cached data for " + key);
+                return cached.data;
+            }
+            final CompletableFuture<StaticData> running = pending.get(key);
+            owner = running == null;
+            future = owner ? new CompletableFuture<>() : running;
+            if (owner) {
+                pending.put(key, future);
+            }
+        }
+        if (owner) {
+            try {
+                final StaticData data = load(key);
+                synchronized (this) {
+                    pending.remove(key);
+                    put(key, data);
+                }
+                future.complete(data);
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    pending.remove(key);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+            return future.join();
+        }
+        LOG.debug("Waiting for data being built for " + key);
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            return get(key);
+        }
+    }
+
+    private StaticData load(StaticDataKey key) {
+        ensureMemoryFor(key);
+        return store.load(key).orElseGet(() -> {
+            final StaticData data = build(key);
+            store.saveAsync(key, data);
+            return data;
+        });
+    }
+
+    /**
+     * Builds distances first, walking nodes through a list that checks for
+     * interruption, and nearest neighbours and heuristic data from them
+     * afterwards, so a cancelled build stops before its most expensive
+     * stages.
+     */
+    private StaticData build(StaticDataKey key) {
+        LOG.debug("Building data for " + key);
+        Tsp tsp = key.getTsp();
+        if (!tsp.getEdgeWeightData().isPresent() && tsp.getNodes().isPresent()) {
+            final int[][] distances = new StaticDataBuilder(withData(tsp,
+                    new InterruptibleNodeList(tsp.getNodes().get()), null))
+                    .build()
+                    .getDistanceMatrix();
+            checkInterrupted();
+            tsp = withData(tsp, null, distances);
+        }
+        final StaticDataBuilder builder = new StaticDataBuilder(tsp);
+        if (key.isAntBased()) {
+            builder.withHeuristicInformationMatrix()
+                    .withHeuristicSolution();
+        }
+        return builder
+                .withNearestNeighbors(key.getNnFactor())
+                .build();
+    }
+
+    private static Tsp withData(Tsp tsp, List<Node> nodes, int[][] edgeWeightData) {
+        return new Tsp(tsp.getName(), tsp.getType(),
+                tsp.getEdgeWeightType(), tsp.getEdgeWeightFormat(),
+                tsp.getDimension(), tsp.getComment(), tsp.getDisplayDataType(),
+                tsp.getNodeCoordType(), nodes, edgeWeightData);
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Building static data was cancelled");
+        }
+    }
+
+    /**
+     * Fails fast for problems whose dense matrices can't fit in the heap, and
+     * drops cached entries when they are in the way of a large one. This is
+     * a guard, not a compact mode: solvers of the antsp library only take
+     * dense matrices, so problems beyond the heap can't be solved at all.
+     */
+    private void ensureMemoryFor(StaticDataKey key) {
+        final long required = estimateSolverBytes(key.getTsp().getDimension(),
+                key.getNnFactor(), key.isAntBased());
+        final Runtime runtime = Runtime.getRuntime();
+        if (required > runtime.maxMemory()) {
+            throw new IllegalStateException(String.format("Problem with %d "
+                            + "nodes needs about %.1f GB of memory for dense "
+                            + "matrices, but heap is limited to %.1f GB. Run "
+                            + "with a larger -Xmx", key.getTsp().getDimension(),
+                    required / BYTES_IN_GB, runtime.maxMemory() / BYTES_IN_GB));
+        }
+        final long free = runtime.maxMemory() - runtime.totalMemory()
+                + runtime.freeMemory();
+        if (required > free) {
+            synchronized (this) {
+                LOG.debug("Clearing cache to make room for " + key);
+                entries.clear();
+                usedBytes = 0;
+            }
+        }
+    }
+
+    private void put(StaticDataKey key, StaticData data) {
+        final long bytes = estimateBytes(data);
+        if (bytes > maxBytes) {
+            LOG.debug("Data for " + key + " exceeds cache capacity");
+            return;
+        }
+        entries.put(key, new Entry(data, bytes));
+        usedBytes += bytes;
+        final Iterator<Map.Entry<StaticDataKey, Entry>> iterator =
+                entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            final Map.Entry<StaticDataKey, Entry> eldest = iterator.next();
+            LOG.debug("Evicting data for " + eldest.getKey());
+            usedBytes -= eldest.getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    static long estimateBytes(StaticData data) {
+        final long size = data.getProblemSize();
+        long bytes = size * size * Integer.BYTES;
+        bytes += data.getNearestNeighborsMatrix()
+                .map(matrix -> size * (matrix.length > 0 ? matrix[0].length : 0) * Integer.BYTES)
+                .orElse(0L);
+        bytes += data.getHeuristicInformationMatrix()
+                .map(matrix -> size * size * Double.BYTES)
+                .orElse(0L);
+        bytes += data.getHeuristicSolution()
+                .map(solution -> size * Integer.BYTES * 4)
+                .orElse(0L);
+        return bytes;
+    }
+
+    /**
+     * Estimates memory needed to solve a problem: static data plus the
+     * pheromone and choice info matrices kept by ant solvers.
+     */
+    static long estimateSolverBytes(int size, int nnFactor, boolean antBased) {
+        final long cells = (long) size * size;
+        long bytes = cells * Integer.BYTES + (long) size * nnFactor * Integer.BYTES;
+        if (antBased) {
+            bytes += 3 * cells * Double.BYTES;
+        }
+        return bytes;
+    }
+
+    private static class InterruptibleNodeList extends AbstractList<Node>
+            implements RandomAccess {
+
+        private final List<Node> nodes;
+
+        private InterruptibleNodeList(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Node get(int index) {
+            checkInterrupted();
+            return nodes.get(index);
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+    }
+
+    private static class Entry {
+
+        private final StaticData data;
+        private final long bytes;
+
+        private Entry(StaticData data, long bytes) {
+            this.data = data;
+            this.bytes = bytes;
+        }
+
+    }
+
+}
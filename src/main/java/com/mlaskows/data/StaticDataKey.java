@@ -0,0 +1,87 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.data;
+
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+/**
+ * Identifies {@link com.mlaskows.antsp.datamodel.data.StaticData} built for
+ * a problem instance with given builder options. Problems are compared by
+ * identity, so the same loaded {@link Tsp} always hits the same entries. The
+ * optional content hash of the .tsp file identifies the problem on disk.
+ */
+public final class StaticDataKey {
+
+    private final Tsp tsp;
+    private final String contentHash;
+    private final int nnFactor;
+    private final boolean antBased;
+
+    public StaticDataKey(Tsp tsp, String contentHash, int nnFactor,
+                         boolean antBased) {
+        this.tsp = tsp;
+        this.contentHash = contentHash;
+        this.nnFactor = nnFactor;
+        this.antBased = antBased;
+    }
+
+    public Tsp getTsp() {
+        return tsp;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public int getNnFactor() {
+        return nnFactor;
+    }
+
+    public boolean isAntBased() {
+        return antBased;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final StaticDataKey that = (StaticDataKey) o;
+        return tsp == that.tsp
+                && nnFactor == that.nnFactor
+                && antBased == that.antBased;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = System.identityHashCode(tsp);
+        result = 31 * result + nnFactor;
+        result = 31 * result + (antBased ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "StaticDataKey{" +
+                "tsp=" + tsp.getName() +
+                ", nnFactor=" + nnFactor +
+                ", antBased=" + antBased +
+                '}';
+    }
+}
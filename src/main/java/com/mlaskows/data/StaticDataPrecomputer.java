@@ -0,0 +1,83 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.data;
+
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds {@link com.mlaskows.antsp.datamodel.data.StaticData} into the cache
+ * in the background, ahead of the solve that is going to need it. A build
+ * for outdated parameters is interrupted, so it stops taking time and memory
+ * from the next one.
+ */
+public class StaticDataPrecomputer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticDataPrecomputer.class);
+
+    private final StaticDataCache cache;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new DaemonThreadFactory("static-data-precompute"));
+    private StaticDataKey currentKey;
+    private Future<?> current;
+
+    public StaticDataPrecomputer(StaticDataCache cache) {
+        this.cache = cache;
+    }
+
+    public synchronized void precompute(StaticDataKey key) {
+        if (key.equals(currentKey)) {
+            return;
+        }
+        cancel();
+        LOG.debug("Precomputing data for " + key);
+        currentKey = key;
+        current = executor.submit(() -> {
+            try {
+                cache.get(key);
+            } catch (CancellationException e) {
+                LOG.debug("Cancelled precomputing data for " + key);
+            } catch (RuntimeException e) {
+                LOG.error("Can't precompute data for " + key + " " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Keeps a build for the key running, so a solve needing the same data
+     * waits for it in the cache instead of starting over.
+     */
+    public synchronized void cancelUnless(StaticDataKey key) {
+        if (!key.equals(currentKey)) {
+            cancel();
+        }
+    }
+
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel(true);
+        }
+        current = null;
+        currentKey = null;
+    }
+
+}
@@ -0,0 +1,390 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.data;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import com.mlaskows.io.ChannelWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stores {@link StaticData} in binary files named after the content hash of
+ * the .tsp file it was built from. Files are read through memory mapping,
+ * so loading skips the distance and nearest neighbour computation. Symmetric
+ * matrices are stored as their upper triangle. When the files outgrow the
+ * byte budget, the least recently used ones are deleted; loading a file
+ * refreshes its modification time to mark the use.
+ */
+public class StaticDataStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticDataStore.class);
+    private static final String DIRECTORY_PROPERTY = "antsp.staticDataStore.dir";
+    private static final String MAX_BYTES_PROPERTY = "antsp.staticDataStore.maxBytes";
+    private static final long DEFAULT_MAX_BYTES = 4L << 30;
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x41534431;
+    private static final int HEADER_INTS = 6;
+    private static final int HEURISTIC_MATRIX_FLAG = 1;
+    private static final int HEURISTIC_SOLUTION_FLAG = 2;
+    private static final int SYMMETRIC_FLAG = 4;
+    private static final long MAX_WINDOW_BYTES = 1 << 30;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            new DaemonThreadFactory("static-data-store"));
+
+    public StaticDataStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static StaticDataStore createDefault() {
+        final String defaultDirectory = Paths
+                .get(System.getProperty("user.home"), ".antsp-gui", "static-data")
+                .toString();
+        return new StaticDataStore(Paths.get(System.getProperty(DIRECTORY_PROPERTY,
+                defaultDirectory)), Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES));
+    }
+
+    public static String hash(Path file) throws IOException {
+        final MessageDigest digest = createDigest();
+        final byte[] buffer = new byte[WRITE_BUFFER_BYTES];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest);
+    }
+
+    public static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    public static String toHex(MessageDigest digest) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    public Optional<StaticData> load(StaticDataKey key) {
+        if (key.getContentHash() == null) {
+            return Optional.empty();
+        }
+        final Path file = getFile(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LOG.debug("Loading data for " + key + " from " + file);
+            final StaticData data = read(new MappedReader(channel));
+            writer.execute(() -> touch(file));
+            return Optional.of(data);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Can't load data from " + file + " " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void saveAsync(StaticDataKey key, StaticData data) {
+        if (key.getContentHash() == null) {
+            return;
+        }
+        writer.execute(() -> {
+            final Path file = getFile(key);
+            try {
+                save(file, data);
+                LOG.debug("Saved data for " + key + " to " + file);
+                evict(file);
+            } catch (IOException e) {
+                LOG.error("Can't save data to " + file + " " + e.getMessage());
+            }
+        });
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOG.debug("Can't mark use of " + file + " " + e.getMessage());
+        }
+    }
+
+    private void evict(Path saved) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        long usedBytes = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+                usedBytes += Files.size(file);
+            }
+        }
+        if (usedBytes <= maxBytes) {
+            return;
+        }
+        final Map<Path, FileTime> lastUses = new HashMap<>();
+        for (Path file : files) {
+            lastUses.put(file, Files.getLastModifiedTime(file));
+        }
+        files.sort(Comparator.comparing(lastUses::get));
+        for (Path file : files) {
+            if (usedBytes <= maxBytes) {
+                break;
+            }
+            if (file.equals(saved)) {
+                continue;
+            }
+            final long size = Files.size(file);
+            Files.deleteIfExists(file);
+            usedBytes -= size;
+            LOG.debug("Evicted " + file);
+        }
+    }
+
+    private Path getFile(StaticDataKey key) {
+        return directory.resolve(key.getContentHash()
+                + "-nn" + key.getNnFactor()
+                + (key.isAntBased() ? "-ant" : "")
+                + FILE_SUFFIX);
+    }
+
+    private StaticData read(MappedReader reader) throws IOException {
+        if (reader.readInt() != MAGIC) {
+            throw new IOException("Unknown file format");
+        }
+        final int size = reader.readInt();
+        final int nnWidth = reader.readInt();
+        final int flags = reader.readInt();
+        final int heuristicTourLength = reader.readInt();
+        final int heuristicTourSize = reader.readInt();
+
+        final boolean symmetric = (flags & SYMMETRIC_FLAG) != 0;
+        final int[][] distanceMatrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            final int from = symmetric ? i : 0;
+            reader.readInts(distanceMatrix[i], from, size - from);
+        }
+        if (symmetric) {
+            mirror(distanceMatrix);
+        }
+        int[][] nearestNeighbors = null;
+        if (nnWidth > 0) {
+            nearestNeighbors = new int[size][nnWidth];
+            for (int[] row : nearestNeighbors) {
+                reader.readInts(row);
+            }
+        }
+        double[][] heuristicInformationMatrix = null;
+        if ((flags & HEURISTIC_MATRIX_FLAG) != 0) {
+            heuristicInformationMatrix = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                final int from = symmetric ? i : 0;
+                reader.readDoubles(heuristicInformationMatrix[i], from, size - from);
+            }
+            if (symmetric) {
+                mirror(heuristicInformationMatrix);
+            }
+        }
+        Solution heuristicSolution = null;
+        if ((flags & HEURISTIC_SOLUTION_FLAG) != 0) {
+            final int[] tour = new int[heuristicTourSize];
+            reader.readInts(tour);
+            final List<Integer> tourList = new ArrayList<>(tour.length);
+            for (int index : tour) {
+                tourList.add(index);
+            }
+            heuristicSolution = new Solution(tourList, heuristicTourLength);
+        }
+        return new StaticData(distanceMatrix, nearestNeighbors,
+                heuristicInformationMatrix, heuristicSolution);
+    }
+
+    private void save(Path file, StaticData data) throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, "static-data", ".tmp");
+        try (ChannelWriter writer = new ChannelWriter(FileChannel.open(temporary,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                WRITE_BUFFER_BYTES, ByteOrder.nativeOrder())) {
+            final Optional<int[][]> nearestNeighbors = data.getNearestNeighborsMatrix();
+            final Optional<double[][]> heuristicMatrix = data.getHeuristicInformationMatrix();
+            final Optional<Solution> heuristicSolution = data.getHeuristicSolution();
+            final boolean symmetric = isSymmetric(data.getDistanceMatrix())
+                    && heuristicMatrix.map(StaticDataStore::isSymmetric).orElse(true);
+            final int flags = (heuristicMatrix.isPresent() ? HEURISTIC_MATRIX_FLAG : 0)
+                    | (heuristicSolution.isPresent() ? HEURISTIC_SOLUTION_FLAG : 0)
+                    | (symmetric ? SYMMETRIC_FLAG : 0);
+            writer.putInt(MAGIC);
+            writer.putInt(data.getProblemSize());
+            writer.putInt(nearestNeighbors
+                    .map(matrix -> matrix.length > 0 ? matrix[0].length : 0)
+                    .orElse(0));
+            writer.putInt(flags);
+            writer.putInt(heuristicSolution.map(Solution::getTourLength).orElse(0));
+            writer.putInt(heuristicSolution.map(s -> s.getTour().size()).orElse(0));
+            final int[][] distanceMatrix = data.getDistanceMatrix();
+            for (int i = 0; i < distanceMatrix.length; i++) {
+                writer.putInts(distanceMatrix[i], symmetric ? i : 0);
+            }
+            if (nearestNeighbors.isPresent()) {
+                for (int[] row : nearestNeighbors.get()) {
+                    writer.putInts(row, 0);
+                }
+            }
+            if (heuristicMatrix.isPresent()) {
+                final double[][] matrix = heuristicMatrix.get();
+                for (int i = 0; i < matrix.length; i++) {
+                    writer.putDoubles(matrix[i], symmetric ? i : 0);
+                }
+            }
+            if (heuristicSolution.isPresent()) {
+                for (Integer index : heuristicSolution.get().getTour()) {
+                    writer.putInt(index);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean isSymmetric(int[][] matrix) {
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = i + 1; j < matrix.length; j++) {
+                if (matrix[i][j] != matrix[j][i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSymmetric(double[][] matrix) {
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = i + 1; j < matrix.length; j++) {
+                if (Double.compare(matrix[i][j], matrix[j][i]) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void mirror(int[][] matrix) {
+        for (int i = 1; i < matrix.length; i++) {
+            for (int j = 0; j < i; j++) {
+                matrix[i][j] = matrix[j][i];
+            }
+        }
+    }
+
+    private static void mirror(double[][] matrix) {
+        for (int i = 1; i < matrix.length; i++) {
+            for (int j = 0; j < i; j++) {
+                matrix[i][j] = matrix[j][i];
+            }
+        }
+    }
+
+    private static class MappedReader {
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        private MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            mapWindow(0);
+        }
+
+        private int readInt() throws IOException {
+            ensureAvailable(Integer.BYTES);
+            return window.getInt();
+        }
+
+        private void readInts(int[] row) throws IOException {
+            readInts(row, 0, row.length);
+        }
+
+        private void readInts(int[] row, int offset, int length) throws IOException {
+            ensureAvailable((long) length * Integer.BYTES);
+            window.asIntBuffer().get(row, offset, length);
+            window.position(window.position() + length * Integer.BYTES);
+        }
+
+        private void readDoubles(double[] row, int offset, int length) throws IOException {
+            ensureAvailable((long) length * Double.BYTES);
+            window.asDoubleBuffer().get(row, offset, length);
+            window.position(window.position() + length * Double.BYTES);
+        }
+
+        private void ensureAvailable(long bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                mapWindow(windowStart + window.position());
+                if (window.remaining() < bytes) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+        }
+
+        private void mapWindow(long start) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(MAX_WINDOW_BYTES, fileSize - start));
+            window.order(ByteOrder.nativeOrder());
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.dialog;
+
+import com.mlaskows.solver.ConvergenceHistory;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.stage.Modality;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Plots best and iteration tour lengths of recent runs. Iteration lengths
+ * are drawn as a min/max band per history bucket, so the number of points
+ * doesn't grow with the number of iterations.
+ */
+public class ConvergenceDialog extends Dialog<Void> {
+
+    private static final int MAX_RUNS = 8;
+    private static final Duration REFRESH_INTERVAL = Duration.millis(250);
+
+    private final LineChart<Number, Number> chart =
+            new LineChart<>(new NumberAxis(), new NumberAxis());
+    private final List<Run> runs = new LinkedList<>();
+    private final Timeline refreshTimeline = new Timeline(
+            new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+
+    public ConvergenceDialog() {
+        super();
+        setTitle("Convergence");
+        setResizable(true);
+        initModality(Modality.NONE);
+        getDialogPane().getButtonTypes().add(new ButtonType("Close",
+                ButtonBar.ButtonData.CANCEL_CLOSE));
+
+        chart.getXAxis().setLabel("Iteration");
+        chart.getYAxis().setLabel("Tour length");
+        ((NumberAxis) chart.getYAxis()).setForceZeroInRange(false);
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false);
+        chart.setPrefSize(800, 500);
+        getDialogPane().setContent(chart);
+
+        refreshTimeline.setCycleCount(Timeline.INDEFINITE);
+        setOnShown(event -> {
+            refresh();
+            refreshTimeline.play();
+        });
+        setOnHidden(event -> refreshTimeline.stop());
+    }
+
+    /**
+     * Adds a run to the chart, the oldest one is removed when there are
+     * more than {@value #MAX_RUNS}.
+     */
+    public void addRun(String name, ConvergenceHistory history) {
+        final Run run = new Run(name, history);
+        runs.add(run);
+        chart.getData().add(run.iterationSeries);
+        chart.getData().add(run.bestSeries);
+        if (runs.size() > MAX_RUNS) {
+            final Run removed = runs.remove(0);
+            chart.getData().remove(removed.iterationSeries);
+            chart.getData().remove(removed.bestSeries);
+        }
+    }
+
+    private void refresh() {
+        runs.forEach(Run::refresh);
+    }
+
+    private static class Run {
+
+        private final ConvergenceHistory history;
+        private final XYChart.Series<Number, Number> iterationSeries =
+                new XYChart.Series<>();
+        private final XYChart.Series<Number, Number> bestSeries =
+                new XYChart.Series<>();
+        private long shownIterations = -1;
+
+        private Run(String name, ConvergenceHistory history) {
+            this.history = history;
+            iterationSeries.setName(name + " iteration");
+            bestSeries.setName(name + " best");
+        }
+
+        private void refresh() {
+            if (history.getIterations() == shownIterations) {
+                return;
+            }
+            final ConvergenceHistory.Snapshot snapshot = history.getSnapshot();
+            shownIterations = snapshot.getIterations();
+            final List<XYChart.Data<Number, Number>> iterationData = new ArrayList<>();
+            final List<XYChart.Data<Number, Number>> bestData = new ArrayList<>();
+            for (int i = 0; i < snapshot.size(); i++) {
+                final long iteration = snapshot.getIteration(i);
+                iterationData.add(new XYChart.Data<>(iteration, snapshot.getIterationMin(i)));
+                iterationData.add(new XYChart.Data<>(iteration, snapshot.getIterationMax(i)));
+                bestData.add(new XYChart.Data<>(iteration, snapshot.getBest(i)));
+            }
+            iterationSeries.getData().setAll(iterationData);
+            bestSeries.getData().setAll(bestData);
+        }
+
+    }
+
+}
@@ -15,12 +15,14 @@
 
 package com.mlaskows.dialog;
 
+import javafx.beans.value.ObservableValue;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 
-public class ProgressDialog extends Dialog {
+public class ProgressDialog extends Dialog<Void> {
 
     private final Label label = new Label();
+    private final ProgressBar progressBar = new ProgressBar();
 
     public ProgressDialog() {
         super();
@@ -28,7 +30,6 @@ public class ProgressDialog extends Dialog {
                 .ButtonData.CANCEL_CLOSE);
         getDialogPane().getButtonTypes().add(cancel);
 
-        final ProgressBar progressBar = new ProgressBar();
         progressBar.setMinWidth(300);
 
         GridPane expContent = new GridPane();
@@ -43,4 +44,12 @@ public class ProgressDialog extends Dialog {
         label.setText(text);
     }
 
+    public void bindText(ObservableValue<String> text) {
+        label.textProperty().bind(text);
+    }
+
+    public void bindProgress(ObservableValue<? extends Number> progress) {
+        progressBar.progressProperty().bind(progress);
+    }
+
 }
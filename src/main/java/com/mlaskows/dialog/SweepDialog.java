@@ -0,0 +1,193 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.dialog;
+
+import com.mlaskows.batch.BatchResult;
+import com.mlaskows.batch.ParameterRange;
+import com.mlaskows.batch.ParameterSweep;
+import com.mlaskows.filter.IntegerFilter;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Modality;
+import javafx.util.converter.IntegerStringConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class SweepDialog extends Dialog<Void> {
+
+    private static final int DEFAULT_SAMPLE_SIZE = 16;
+
+    private final TextArea rangesTextArea = new TextArea();
+    private final ChoiceBox<ParameterSweep.Mode> modeChoiceBox = new ChoiceBox<>(
+            FXCollections.observableArrayList(ParameterSweep.Mode.values()));
+    private final TextField sampleSizeTextField = new TextField();
+    private final TextField threadsTextField = new TextField();
+    private final Button startButton = new Button("Start");
+    private final Label statusLabel = new Label();
+    private final TableView<BatchResult> resultsTableView = new TableView<>();
+    private Runnable onStart = () -> {
+    };
+    private Runnable onStop = () -> {
+    };
+    private boolean running;
+
+    public SweepDialog() {
+        super();
+        setTitle("Sweep parameters");
+        setResizable(true);
+        initModality(Modality.NONE);
+        getDialogPane().getButtonTypes().add(new ButtonType("Close",
+                ButtonBar.ButtonData.CANCEL_CLOSE));
+
+        rangesTextArea.setPromptText("evaporationFactor=0.1:0.5:0.1\n"
+                + "antsCount=10|20|40");
+        rangesTextArea.setPrefRowCount(4);
+        modeChoiceBox.getSelectionModel().selectFirst();
+        sampleSizeTextField.setTextFormatter(new TextFormatter<>(
+                new IntegerStringConverter(), DEFAULT_SAMPLE_SIZE, new IntegerFilter()));
+        threadsTextField.setTextFormatter(new TextFormatter<>(
+                new IntegerStringConverter(),
+                Runtime.getRuntime().availableProcessors(), new IntegerFilter()));
+        startButton.setOnAction(event -> {
+            if (running) {
+                onStop.run();
+            } else {
+                onStart.run();
+            }
+        });
+        initResultsTable();
+
+        GridPane expContent = new GridPane();
+        expContent.setHgap(10);
+        expContent.setVgap(5);
+        expContent.setMaxWidth(Double.MAX_VALUE);
+        expContent.add(new Label("Ranges (key=min:max:step or key=value|value):"), 0, 0, 4, 1);
+        expContent.add(rangesTextArea, 0, 1, 4, 1);
+        expContent.add(new Label("Mode:"), 0, 2);
+        expContent.add(modeChoiceBox, 1, 2);
+        expContent.add(new Label("Sample size:"), 0, 3);
+        expContent.add(sampleSizeTextField, 1, 3);
+        expContent.add(new Label("Threads:"), 0, 4);
+        expContent.add(threadsTextField, 1, 4);
+        expContent.add(startButton, 0, 5);
+        expContent.add(statusLabel, 1, 5, 3, 1);
+        expContent.add(resultsTableView, 0, 6, 4, 1);
+
+        getDialogPane().setContent(expContent);
+        setOnCloseRequest(event -> onStop.run());
+    }
+
+    private void initResultsTable() {
+        resultsTableView.setPrefSize(900, 400);
+        final List<TableColumn<BatchResult, ?>> columns = resultsTableView.getColumns();
+        columns.add(column("Algorithm", BatchResult::getAlgorithmType));
+        columns.add(column("Evaporation", result -> result.getConfig() == null ? null
+                : result.getConfig().getPheromoneEvaporationFactor()));
+        columns.add(column("Pheromone imp.", result -> result.getConfig() == null ? null
+                : result.getConfig().getPheromoneImportance()));
+        columns.add(column("Heuristic imp.", result -> result.getConfig() == null ? null
+                : result.getConfig().getHeuristicImportance()));
+        columns.add(column("NN factor", result -> result.getConfig() == null ? null
+                : result.getConfig().getNearestNeighbourFactor()));
+        columns.add(column("Ants", result -> result.getConfig() == null ? null
+                : result.getConfig().getAntsCount()));
+        columns.add(column("Max stagnation", result -> result.getConfig() == null ? null
+                : result.getConfig().getMaxStagnationCount()));
+        columns.add(column("Local search", result -> result.getConfig() == null ? null
+                : result.getConfig().isWithLocalSearch()));
+        columns.add(column("Tour length", result -> result.isFailed() ? null
+                : result.getTourLength()));
+        columns.add(column("Iterations", BatchResult::getIterations));
+        columns.add(column("Time [ms]", result -> TimeUnit.NANOSECONDS
+                .toMillis(result.getDataNanos() + result.getSolveNanos())));
+        columns.add(column("Error", BatchResult::getError));
+    }
+
+    private static <T> TableColumn<BatchResult, T> column(
+            String text, Function<BatchResult, T> value) {
+        final TableColumn<BatchResult, T> column = new TableColumn<>(text);
+        column.setCellValueFactory(features ->
+                new ReadOnlyObjectWrapper<>(value.apply(features.getValue())));
+        return column;
+    }
+
+    public List<ParameterRange> getRanges() {
+        final List<ParameterRange> ranges = new ArrayList<>();
+        for (String line : rangesTextArea.getText().split("\n")) {
+            if (!line.trim().isEmpty()) {
+                ranges.add(ParameterRange.parse(line));
+            }
+        }
+        return ranges;
+    }
+
+    public ParameterSweep.Mode getMode() {
+        return modeChoiceBox.getValue();
+    }
+
+    public int getSampleSize() {
+        return getPositive(sampleSizeTextField, "Sample size");
+    }
+
+    public int getThreads() {
+        return getPositive(threadsTextField, "Threads");
+    }
+
+    private static int getPositive(TextField textField, String name) {
+        final Object value = textField.getTextFormatter().getValue();
+        if (!(value instanceof Integer) || (Integer) value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return (Integer) value;
+    }
+
+    public void setOnStart(Runnable onStart) {
+        this.onStart = onStart;
+    }
+
+    public void setOnStop(Runnable onStop) {
+        this.onStop = onStop;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+        startButton.setText(running ? "Stop" : "Start");
+        rangesTextArea.setDisable(running);
+        modeChoiceBox.setDisable(running);
+        sampleSizeTextField.setDisable(running);
+        threadsTextField.setDisable(running);
+    }
+
+    public void bindStatus(ObservableValue<String> status) {
+        statusLabel.textProperty().bind(status);
+    }
+
+    public void clearResults() {
+        resultsTableView.getItems().clear();
+    }
+
+    public void addResult(BatchResult result) {
+        resultsTableView.getItems().add(result);
+        resultsTableView.sort();
+    }
+
+}
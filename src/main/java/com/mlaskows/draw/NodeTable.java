@@ -0,0 +1,129 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+import com.mlaskows.tsplib.datamodel.item.Node;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.util.List;
+
+/**
+ * Node coordinates of a problem stored in primitive arrays indexed by
+ * {@code node.getId() - 1}, which is the same index used in solution tours.
+ */
+public class NodeTable {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+    private Projection projection;
+
+    public NodeTable(Tsp tsp) {
+        final List<Node> nodes = tsp
+                .getNodes()
+                .orElseThrow(() -> new IllegalArgumentException("TSP file " +
+                        "can't be displayed"));
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("TSP file has no nodes");
+        }
+        final int size = Math.max(tsp.getDimension(), nodes.size());
+        xs = new double[size];
+        ys = new double[size];
+        for (Node node : nodes) {
+            final int index = node.getId() - 1;
+            if (index < 0 || index >= size) {
+                throw new IllegalArgumentException("Node id " + node.getId()
+                        + " exceeds dimension " + size);
+            }
+            xs[index] = node.getX();
+            ys[index] = node.getY();
+        }
+        minX = min(xs);
+        maxX = max(xs);
+        minY = min(ys);
+        maxY = max(ys);
+    }
+
+    /**
+     * Wraps coordinate arrays without copying them.
+     */
+    public NodeTable(double[] xs, double[] ys) {
+        if (xs.length == 0 || xs.length != ys.length) {
+            throw new IllegalArgumentException("TSP file has no nodes");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        minX = min(xs);
+        maxX = max(xs);
+        minY = min(ys);
+        maxY = max(ys);
+    }
+
+    private static double min(double[] values) {
+        double min = Double.MAX_VALUE;
+        for (double value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static double max(double[] values) {
+        double max = -Double.MAX_VALUE;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    public Projection getProjection(double width, double height) {
+        if (projection == null || !projection.hasSize(width, height)) {
+            projection = new Projection(this, width, height);
+        }
+        return projection;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+}
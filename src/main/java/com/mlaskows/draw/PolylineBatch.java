@@ -0,0 +1,76 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Collects screen space points of a path and strokes them as a few large
+ * polylines. Consecutive points falling into the same pixel are merged, so
+ * the amount of work sent to the canvas is bounded by its resolution.
+ */
+class PolylineBatch {
+
+    private static final int BATCH_SIZE = 4096;
+
+    private final GraphicsContext gc;
+    private final double[] xs = new double[BATCH_SIZE];
+    private final double[] ys = new double[BATCH_SIZE];
+    private int count;
+    private int lastPixelX;
+    private int lastPixelY;
+
+    PolylineBatch(GraphicsContext gc) {
+        this.gc = gc;
+    }
+
+    void moveTo(double x, double y) {
+        flush();
+        count = 0;
+        lineTo(x, y);
+    }
+
+    void lineTo(double x, double y) {
+        final int pixelX = (int) Math.floor(x);
+        final int pixelY = (int) Math.floor(y);
+        if (count > 0 && pixelX == lastPixelX && pixelY == lastPixelY) {
+            return;
+        }
+        if (count == BATCH_SIZE) {
+            flush();
+            xs[0] = xs[BATCH_SIZE - 1];
+            ys[0] = ys[BATCH_SIZE - 1];
+            count = 1;
+        }
+        xs[count] = x;
+        ys[count] = y;
+        count++;
+        lastPixelX = pixelX;
+        lastPixelY = pixelY;
+    }
+
+    void finish() {
+        flush();
+        count = 0;
+    }
+
+    private void flush() {
+        if (count > 1) {
+            gc.strokePolyline(xs, ys, count);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+import com.mlaskows.antsp.datamodel.Solution;
+
+/**
+ * Node coordinates projected onto a canvas of a given size.
+ */
+public class Projection {
+
+    private final double width;
+    private final double height;
+    private final double[] xs;
+    private final double[] ys;
+    private SpatialGrid spatialGrid;
+    private TourIndex tourIndex;
+
+    Projection(NodeTable nodeTable, double width, double height) {
+        this.width = width;
+        this.height = height;
+        final double xRange = nodeTable.getMaxX() - nodeTable.getMinX();
+        final double yRange = nodeTable.getMaxY() - nodeTable.getMinY();
+        final double xScale = xRange > 0 ? width / xRange : 0;
+        final double yScale = yRange > 0 ? height / yRange : 0;
+        xs = new double[nodeTable.size()];
+        ys = new double[nodeTable.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (nodeTable.getX(i) - nodeTable.getMinX()) * xScale;
+            ys[i] = (nodeTable.getY(i) - nodeTable.getMinY()) * yScale;
+        }
+    }
+
+    boolean hasSize(double width, double height) {
+        return this.width == width && this.height == height;
+    }
+
+    public SpatialGrid getSpatialGrid() {
+        if (spatialGrid == null) {
+            spatialGrid = new SpatialGrid(this);
+        }
+        return spatialGrid;
+    }
+
+    /**
+     * @return index of the solution's edges, kept until another solution is
+     * drawn
+     */
+    TourIndex getTourIndex(Solution solution) {
+        if (tourIndex == null || !tourIndex.isFor(solution)) {
+            tourIndex = new TourIndex(this, solution);
+        }
+        return tourIndex;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+}
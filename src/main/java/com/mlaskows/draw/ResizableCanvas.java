@@ -15,13 +15,112 @@
 
 package com.mlaskows.draw;
 
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
 
+/**
+ * Canvas following the size of its parent. While it is being resized the last
+ * full render is stretched over it, and the real redraw runs once the size
+ * stops changing.
+ */
 public class ResizableCanvas extends Canvas {
 
+    private static final Duration REDRAW_DELAY = Duration.millis(150);
+
+    private final PauseTransition redrawDelay = new PauseTransition(REDRAW_DELAY);
+    private Runnable onRedraw = () -> {
+    };
+    private WritableImage raster;
+    private boolean rasterOutdated = true;
+
+    public ResizableCanvas() {
+        widthProperty().addListener((observable, oldValue, newValue) ->
+                onResize(oldValue.doubleValue(), getHeight()));
+        heightProperty().addListener((observable, oldValue, newValue) ->
+                onResize(getWidth(), oldValue.doubleValue()));
+        redrawDelay.setOnFinished(event -> onRedraw.run());
+    }
+
+    public void setOnRedraw(Runnable onRedraw) {
+        this.onRedraw = onRedraw;
+    }
+
+    public void invalidateRaster() {
+        rasterOutdated = true;
+    }
+
+    private void onResize(double oldWidth, double oldHeight) {
+        if (redrawDelay.getStatus() != Animation.Status.RUNNING) {
+            updateRaster(oldWidth, oldHeight);
+        }
+        drawRaster();
+        redrawDelay.playFromStart();
+    }
+
+    private void updateRaster(double width, double height) {
+        if (!rasterOutdated || width < 1 || height < 1) {
+            return;
+        }
+        final SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setViewport(new Rectangle2D(0, 0, width, height));
+        raster = snapshot(parameters, null);
+        rasterOutdated = false;
+    }
+
+    private void drawRaster() {
+        final GraphicsContext gc = getGraphicsContext2D();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, getWidth(), getHeight());
+        if (raster != null) {
+            gc.drawImage(raster, 0, 0, getWidth(), getHeight());
+        }
+    }
+
     @Override
     public boolean isResizable() {
         return true;
     }
 
+    @Override
+    public double minWidth(double height) {
+        return 0;
+    }
+
+    @Override
+    public double minHeight(double width) {
+        return 0;
+    }
+
+    @Override
+    public double prefWidth(double height) {
+        return getWidth();
+    }
+
+    @Override
+    public double prefHeight(double width) {
+        return getHeight();
+    }
+
+    @Override
+    public double maxWidth(double height) {
+        return Double.MAX_VALUE;
+    }
+
+    @Override
+    public double maxHeight(double width) {
+        return Double.MAX_VALUE;
+    }
+
+    @Override
+    public void resize(double width, double height) {
+        setWidth(width);
+        setHeight(height);
+    }
+
 }
@@ -16,27 +16,34 @@
 package com.mlaskows.draw;
 
 import com.mlaskows.antsp.datamodel.Solution;
-import com.mlaskows.tsplib.datamodel.item.Node;
-import com.mlaskows.tsplib.datamodel.item.Tsp;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
-
 public class SolvedMapDrawer extends MapDrawer {
 
     private static final Logger LOG = LoggerFactory.getLogger(SolvedMapDrawer.class);
 
     private final Solution solution;
+    private int lastEdge = -2;
+
+    public SolvedMapDrawer(Canvas mapCanvas, NodeTable nodeTable, Solution solution) {
+        super(mapCanvas, nodeTable);
+        this.solution = solution;
+    }
 
-    public SolvedMapDrawer(Canvas mapCanvas, Tsp tsp, Solution solution) {
-        super(mapCanvas, tsp);
+    public SolvedMapDrawer(Canvas mapCanvas, NodeTable nodeTable, Viewport viewport,
+                           Solution solution) {
+        super(mapCanvas, nodeTable, viewport);
         this.solution = solution;
     }
 
+    /**
+     * Zoomed in, only edges found through the tour index are visited, so
+     * cost follows the visible part of the tour rather than its length.
+     */
     @Override
     public void draw() {
         LOG.debug("Drawing solution");
@@ -44,29 +51,62 @@ public class SolvedMapDrawer extends MapDrawer {
         final GraphicsContext gc = getMapCanvas().getGraphicsContext2D();
         cleanCanvas(gc);
         gc.setStroke(Color.BLACK);
-        gc.setLineWidth(Math.max(getXScaleFactor(), getYScaleFactor()));
-        gc.setTransform(getTransform());
-        Node previous = null;
-        final Iterator<Integer> iterator = solution.getTour().iterator();
-        while (iterator.hasNext()) {
-            if (previous == null) {
-                previous = getNode(iterator.next());
-                continue;
+        gc.setLineWidth(1);
+        final Projection projection = getProjection();
+        final TourIndex tourIndex = projection.getTourIndex(solution);
+        final PolylineBatch batch = new PolylineBatch(gc);
+        if (showsWholeMap(projection)) {
+            for (int edge = 0; edge < tourIndex.getEdgeCount(); edge++) {
+                drawEdge(batch, tourIndex, edge);
+            }
+        } else {
+            int previous = -1;
+            for (int edge : tourIndex.findEdges(projection.getSpatialGrid(),
+                    getVisibleMinX(), getVisibleMinY(), getVisibleMaxX(),
+                    getVisibleMaxY())) {
+                if (edge != previous) {
+                    drawEdge(batch, tourIndex, edge);
+                    previous = edge;
+                }
             }
-            final Node actual = getNode(iterator.next());
-            gc.strokeLine(getX(previous), getY(previous), getX(actual), getY
-                    (actual));
-            previous = actual;
         }
+        batch.finish();
     }
 
-    private Node getNode(Integer previous) {
-        for (Node node : getNodes()) {
-            if (previous.equals(node.getId() - 1)) {
-                return node;
-            }
+    private boolean showsWholeMap(Projection projection) {
+        return getVisibleMinX() <= 0 && getVisibleMinY() <= 0
+                && getVisibleMaxX() >= projection.getWidth()
+                && getVisibleMaxY() >= projection.getHeight();
+    }
+
+    private void drawEdge(PolylineBatch batch, TourIndex tourIndex, int edge) {
+        final Projection projection = getProjection();
+        final Viewport viewport = getViewport();
+        final int from = tourIndex.getNode(edge);
+        final int to = tourIndex.getNode(edge + 1);
+        final boolean connected = lastEdge >= 0 && edge == lastEdge + 1;
+        lastEdge = edge;
+        if (!isVisible(projection, from, to)) {
+            lastEdge = -2;
+            return;
+        }
+        if (!connected) {
+            batch.moveTo(viewport.toViewX(projection.getX(from)),
+                    viewport.toViewY(projection.getY(from)));
         }
-        return null;
+        batch.lineTo(viewport.toViewX(projection.getX(to)),
+                viewport.toViewY(projection.getY(to)));
+    }
+
+    private boolean isVisible(Projection projection, int from, int to) {
+        final double fromX = projection.getX(from);
+        final double toX = projection.getX(to);
+        final double fromY = projection.getY(from);
+        final double toY = projection.getY(to);
+        return Math.max(fromX, toX) >= getVisibleMinX()
+                && Math.min(fromX, toX) <= getVisibleMaxX()
+                && Math.max(fromY, toY) >= getVisibleMinY()
+                && Math.min(fromY, toY) <= getVisibleMaxY();
     }
 
 }
@@ -0,0 +1,130 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid over projected node coordinates, used to find nodes inside
+ * the visible part of the map and the node nearest to the cursor.
+ */
+public class SpatialGrid {
+
+    private static final int NODES_PER_CELL = 2;
+
+    private final Projection projection;
+    private final int columns;
+    private final int rows;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int[] cellStart;
+    private final int[] cellNodes;
+
+    SpatialGrid(Projection projection) {
+        this.projection = projection;
+        final int size = projection.size();
+        final double width = Math.max(projection.getWidth(), 1);
+        final double height = Math.max(projection.getHeight(), 1);
+        final int cells = Math.max(1, size / NODES_PER_CELL);
+        columns = Math.max(1, (int) Math.ceil(Math.sqrt(cells * width / height)));
+        rows = Math.max(1, (int) Math.ceil((double) cells / columns));
+        cellWidth = width / columns;
+        cellHeight = height / rows;
+
+        cellStart = new int[columns * rows + 1];
+        cellNodes = new int[size];
+        final int[] nodeCells = new int[size];
+        for (int i = 0; i < size; i++) {
+            nodeCells[i] = cellOf(projection.getX(i), projection.getY(i));
+            cellStart[nodeCells[i] + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        final int[] fill = new int[columns * rows];
+        for (int i = 0; i < size; i++) {
+            final int cell = nodeCells[i];
+            cellNodes[cellStart[cell] + fill[cell]++] = i;
+        }
+    }
+
+    public void forEachInRect(double minX, double minY, double maxX,
+                              double maxY, IntConsumer consumer) {
+        final int firstColumn = column(minX);
+        final int lastColumn = column(maxX);
+        final int firstRow = row(minY);
+        final int lastRow = row(maxY);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                final int cell = row * columns + column;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    final int index = cellNodes[k];
+                    final double x = projection.getX(index);
+                    final double y = projection.getY(index);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        consumer.accept(index);
+                    }
+                }
+            }
+        }
+    }
+
+    public int findNearest(double x, double y, double maxDistance) {
+        final int firstColumn = column(x - maxDistance);
+        final int lastColumn = column(x + maxDistance);
+        final int firstRow = row(y - maxDistance);
+        final int lastRow = row(y + maxDistance);
+        int nearest = -1;
+        double nearestDistance = maxDistance * maxDistance;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                final int cell = row * columns + column;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    final int index = cellNodes[k];
+                    final double dx = projection.getX(index) - x;
+                    final double dy = projection.getY(index) - y;
+                    final double distance = dx * dx + dy * dy;
+                    if (distance <= nearestDistance) {
+                        nearest = index;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    double getCellSize() {
+        return Math.max(cellWidth, cellHeight);
+    }
+
+    private int cellOf(double x, double y) {
+        return row(y) * columns + column(x);
+    }
+
+    private int column(double x) {
+        return clamp((int) Math.floor(x / cellWidth), columns);
+    }
+
+    private int row(double y) {
+        return clamp((int) Math.floor(y / cellHeight), rows);
+    }
+
+    private int clamp(int value, int size) {
+        return Math.max(0, Math.min(value, size - 1));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+import com.mlaskows.antsp.datamodel.Solution;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tour edges of a solution indexed for drawing part of the map. An edge
+ * crossing the visible area either has an end within a margin around it,
+ * found through the {@link SpatialGrid}, or is longer than the margin, and
+ * the few such long edges are kept in a list.
+ */
+class TourIndex {
+
+    private static final int MARGIN_CELLS = 4;
+
+    private final Solution solution;
+    private final int[] tour;
+    private final int[] positions;
+    private final int[] longEdges;
+    private final double margin;
+    private final boolean closed;
+
+    TourIndex(Projection projection, Solution solution) {
+        this.solution = solution;
+        final List<Integer> tourList = solution.getTour();
+        tour = new int[tourList.size()];
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = tourList.get(i);
+        }
+        closed = tour.length > 1 && tour[0] == tour[tour.length - 1];
+        positions = new int[projection.size()];
+        for (int i = tour.length - 1; i >= 0; i--) {
+            positions[tour[i]] = i;
+        }
+        margin = MARGIN_CELLS * projection.getSpatialGrid().getCellSize();
+        int longCount = 0;
+        final int[] longEdges = new int[getEdgeCount()];
+        for (int edge = 0; edge < longEdges.length; edge++) {
+            final int from = tour[edge];
+            final int to = tour[edge + 1];
+            if (Math.abs(projection.getX(from) - projection.getX(to)) > margin
+                    || Math.abs(projection.getY(from) - projection.getY(to)) > margin) {
+                longEdges[longCount++] = edge;
+            }
+        }
+        this.longEdges = Arrays.copyOf(longEdges, longCount);
+    }
+
+    boolean isFor(Solution solution) {
+        return this.solution == solution;
+    }
+
+    /**
+     * @return number of edges, edge {@code i} goes from tour position
+     * {@code i} to {@code i + 1}
+     */
+    int getEdgeCount() {
+        return Math.max(0, tour.length - 1);
+    }
+
+    int getNode(int position) {
+        return tour[position];
+    }
+
+    /**
+     * @return sorted indexes of edges which may cross the rectangle, may
+     * contain duplicates
+     */
+    int[] findEdges(SpatialGrid grid, double minX, double minY, double maxX,
+                    double maxY) {
+        final int[][] edges = {new int[64 + longEdges.length]};
+        final int[] count = {0};
+        grid.forEachInRect(minX - margin, minY - margin, maxX + margin,
+                maxY + margin, node -> {
+                    final int position = positions[node];
+                    if (edges[0].length < count[0] + 3) {
+                        edges[0] = Arrays.copyOf(edges[0], edges[0].length * 2);
+                    }
+                    if (position > 0) {
+                        edges[0][count[0]++] = position - 1;
+                    } else if (closed) {
+                        edges[0][count[0]++] = getEdgeCount() - 1;
+                    }
+                    if (position < getEdgeCount()) {
+                        edges[0][count[0]++] = position;
+                    }
+                });
+        final int[] found = Arrays.copyOf(edges[0], count[0] + longEdges.length);
+        System.arraycopy(longEdges, 0, found, count[0], longEdges.length);
+        Arrays.sort(found);
+        return found;
+    }
+
+}
@@ -15,10 +15,10 @@
 
 package com.mlaskows.draw;
 
-import com.mlaskows.tsplib.datamodel.item.Tsp;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,21 +26,48 @@ public class UnsolvedMapDrawer extends MapDrawer {
 
 
     private static final Logger LOG = LoggerFactory.getLogger(UnsolvedMapDrawer.class);
+    private static final int NODE_SIZE = 2;
+    private static final int NODE_COLOR = 0xFF000000;
 
-    public UnsolvedMapDrawer(Canvas mapCanvas, Tsp tsp) {
-        super(mapCanvas, tsp);
+    public UnsolvedMapDrawer(Canvas mapCanvas, NodeTable nodeTable) {
+        super(mapCanvas, nodeTable);
+    }
+
+    public UnsolvedMapDrawer(Canvas mapCanvas, NodeTable nodeTable, Viewport viewport) {
+        super(mapCanvas, nodeTable, viewport);
     }
 
     @Override
     public void draw() {
         GraphicsContext gc = getMapCanvas().getGraphicsContext2D();
         cleanCanvas(gc);
-        gc.setFill(Color.BLACK);
-        gc.setTransform(getTransform());
-        getNodes()
-                .forEach(node -> gc.fillRect(getX(node), getY(node),
-                        getXScaleFactor() * 2, getYScaleFactor() * 2));
+        final int width = (int) getMapCanvas().getWidth();
+        final int height = (int) getMapCanvas().getHeight();
+        if (width < 1 || height < 1) {
+            return;
+        }
+        final Projection projection = getProjection();
+        final Viewport viewport = getViewport();
+        final int[] pixels = new int[width * height];
+        projection.getSpatialGrid().forEachInRect(getVisibleMinX(),
+                getVisibleMinY(), getVisibleMaxX(), getVisibleMaxY(), i -> {
+                    final int x = clamp((int) viewport.toViewX(projection.getX(i)), width);
+                    final int y = clamp((int) viewport.toViewY(projection.getY(i)), height);
+                    for (int dy = 0; dy < NODE_SIZE && y + dy < height; dy++) {
+                        for (int dx = 0; dx < NODE_SIZE && x + dx < width; dx++) {
+                            pixels[(y + dy) * width + x + dx] = NODE_COLOR;
+                        }
+                    }
+                });
+        final WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+        gc.drawImage(image, 0, 0);
         LOG.debug("Done drawing");
     }
 
+    private int clamp(int value, int size) {
+        return Math.max(0, Math.min(value, size - 1));
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.draw;
+
+/**
+ * Zoom and pan applied on top of a {@link Projection}. View coordinates are
+ * canvas pixels, base coordinates are projected node coordinates.
+ */
+public class Viewport {
+
+    private static final double MIN_ZOOM = 1;
+    private static final double MAX_ZOOM = 1000;
+
+    private double zoom = MIN_ZOOM;
+    private double translateX;
+    private double translateY;
+
+    public void zoom(double factor, double pivotX, double pivotY) {
+        final double newZoom = Math.max(MIN_ZOOM, Math.min(zoom * factor, MAX_ZOOM));
+        final double appliedFactor = newZoom / zoom;
+        translateX = pivotX - (pivotX - translateX) * appliedFactor;
+        translateY = pivotY - (pivotY - translateY) * appliedFactor;
+        zoom = newZoom;
+    }
+
+    public void pan(double dx, double dy) {
+        translateX += dx;
+        translateY += dy;
+    }
+
+    public void reset() {
+        zoom = MIN_ZOOM;
+        translateX = 0;
+        translateY = 0;
+    }
+
+    public double toViewX(double x) {
+        return x * zoom + translateX;
+    }
+
+    public double toViewY(double y) {
+        return y * zoom + translateY;
+    }
+
+    public double toBaseX(double viewX) {
+        return (viewX - translateX) / zoom;
+    }
+
+    public double toBaseY(double viewY) {
+        return (viewY - translateY) / zoom;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+}
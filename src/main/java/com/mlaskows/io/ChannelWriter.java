@@ -0,0 +1,154 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered writer of binary numbers, ASCII text, decimal numbers and varints
+ * straight to a channel, so large tours and matrices are written without
+ * building strings or byte arrays. Closing it flushes the buffer and closes
+ * the channel.
+ */
+public class ChannelWriter implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_NUMBER_BYTES = 11;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[MAX_NUMBER_BYTES];
+
+    /**
+     * Writes binary numbers in big endian order.
+     */
+    public ChannelWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, ByteOrder.BIG_ENDIAN);
+    }
+
+    public ChannelWriter(WritableByteChannel channel, int bufferSize, ByteOrder order) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(order);
+    }
+
+    public void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            ensureRemaining(1);
+            final char c = text.charAt(i);
+            buffer.put((byte) (c < 128 ? c : '?'));
+        }
+    }
+
+    public void putDecimal(int value) throws IOException {
+        ensureRemaining(MAX_NUMBER_BYTES);
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        long remaining = Math.abs((long) value);
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        while (count > 0) {
+            buffer.put(digits[--count]);
+        }
+    }
+
+    public void putLine(String text) throws IOException {
+        putAscii(text);
+        putNewLine();
+    }
+
+    public void putNewLine() throws IOException {
+        ensureRemaining(1);
+        buffer.put((byte) '\n');
+    }
+
+    public void putBytes(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            ensureRemaining(1);
+            buffer.put(b);
+        }
+    }
+
+    public void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Writes values from the index to the end of the array.
+     */
+    public void putInts(int[] values, int from) throws IOException {
+        for (int i = from; i < values.length; i++) {
+            putInt(values[i]);
+        }
+    }
+
+    public void putDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Writes values from the index to the end of the array.
+     */
+    public void putDoubles(double[] values, int from) throws IOException {
+        for (int i = from; i < values.length; i++) {
+            putDouble(values[i]);
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint, 7 bits per byte.
+     */
+    public void putVarint(int value) throws IOException {
+        ensureRemaining(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.metrics;
+
+public enum Phase {
+
+    PARSE("parse", false),
+    DATA("data", true),
+    SOLVE("solve", true),
+    DRAW("draw", false);
+
+    private final String name;
+    private final boolean runOnWorkers;
+
+    Phase(String name, boolean runOnWorkers) {
+        this.name = name;
+        this.runOnWorkers = runOnWorkers;
+    }
+
+    /**
+     * @return whether the phase hands work to worker threads, whose
+     * allocation is then counted as well
+     */
+    public boolean isRunOnWorkers() {
+        return runOnWorkers;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
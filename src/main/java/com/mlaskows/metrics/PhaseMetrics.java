@@ -0,0 +1,134 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Timings and allocated bytes accumulated per phase for one run: loading the
+ * problem and, once solving starts, a single solve with the draws showing
+ * its progress, see {@link #startRun()}. Allocation is counted on the thread that runs the phase and, for data and
+ * solve phases, on all worker threads while it runs, see
+ * {@link ThreadAllocation}. Workers busy with other work at the same time,
+ * like a background precompute, are counted too.
+ */
+public class PhaseMetrics {
+
+    private static final String CSV_HEADER =
+            "problem,phase,count,totalMs,meanMs,allocatedBytes";
+    private static final double NANOS_IN_MS = 1_000_000;
+
+    private final String problemName;
+    private final int[] counts = new int[Phase.values().length];
+    private final long[] nanos = new long[Phase.values().length];
+    private final long[] allocatedBytes = new long[Phase.values().length];
+
+    public PhaseMetrics(String problemName) {
+        this.problemName = problemName;
+    }
+
+    /**
+     * @return metrics for the next solve of the same problem, keeping only
+     * the parse phase it shares with earlier runs
+     */
+    public synchronized PhaseMetrics startRun() {
+        final PhaseMetrics run = new PhaseMetrics(problemName);
+        final int parse = Phase.PARSE.ordinal();
+        run.counts[parse] = counts[parse];
+        run.nanos[parse] = nanos[parse];
+        run.allocatedBytes[parse] = allocatedBytes[parse];
+        return run;
+    }
+
+    public PhaseSpan start(Phase phase) {
+        return new PhaseSpan(this, phase);
+    }
+
+    synchronized void add(Phase phase, long phaseNanos, long phaseAllocatedBytes) {
+        counts[phase.ordinal()]++;
+        nanos[phase.ordinal()] += phaseNanos;
+        allocatedBytes[phase.ordinal()] += phaseAllocatedBytes;
+    }
+
+    public String getProblemName() {
+        return problemName;
+    }
+
+    public synchronized int getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public synchronized long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public synchronized long getAllocatedBytes(Phase phase) {
+        return allocatedBytes[phase.ordinal()];
+    }
+
+    /**
+     * @return short summary of measured phases, e.g.
+     * {@code parse 120 ms / 3.1 MB, solve 8.4 s / 1.2 GB}
+     */
+    public synchronized String format() {
+        final List<String> parts = new ArrayList<>();
+        for (Phase phase : Phase.values()) {
+            final int count = counts[phase.ordinal()];
+            if (count > 0) {
+                parts.add(phase + (count > 1 ? " x" + count : "") + " "
+                        + formatNanos(nanos[phase.ordinal()]) + " / "
+                        + formatBytes(allocatedBytes[phase.ordinal()]));
+            }
+        }
+        return String.join(", ", parts);
+    }
+
+    public synchronized void writeCsv(Writer writer) throws IOException {
+        final String lineSeparator = System.getProperty("line.separator");
+        writer.write(CSV_HEADER);
+        writer.write(lineSeparator);
+        for (Phase phase : Phase.values()) {
+            final int count = counts[phase.ordinal()];
+            final double totalMs = nanos[phase.ordinal()] / NANOS_IN_MS;
+            writer.write(String.format(Locale.ROOT,
+                    "%s,%s,%d,%.3f,%.3f,%d", problemName.replace(',', ' '),
+                    phase, count, totalMs, count == 0 ? 0 : totalMs / count,
+                    allocatedBytes[phase.ordinal()]));
+            writer.write(lineSeparator);
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        final double ms = nanos / NANOS_IN_MS;
+        if (ms < 1000) {
+            return String.format("%.0f ms", ms);
+        }
+        return String.format("%.1f s", ms / 1000);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        final int exponent = (int) (Math.log(bytes) / Math.log(1024));
+        return String.format("%.1f %sB", bytes / Math.pow(1024, exponent),
+                "KMGTPE".charAt(exponent - 1));
+    }
+
+}
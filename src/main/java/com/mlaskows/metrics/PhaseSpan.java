@@ -0,0 +1,73 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.metrics;
+
+/**
+ * Measures one execution of a phase, meant to be closed in a finally block
+ * on the thread that started it. Emits a Flight Recorder event when JFR is
+ * available in the runtime.
+ */
+public class PhaseSpan implements AutoCloseable {
+
+    private static final boolean JFR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private final PhaseMetrics metrics;
+    private final Phase phase;
+    private final PhaseEvent event;
+    private final long threadId = Thread.currentThread().getId();
+    private final long startAllocatedBytes;
+    private final long start;
+    private boolean closed;
+
+    PhaseSpan(PhaseMetrics metrics, Phase phase) {
+        this.metrics = metrics;
+        this.phase = phase;
+        this.event = JFR_AVAILABLE ? new PhaseEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        startAllocatedBytes = getAllocatedBytes();
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final long nanos = System.nanoTime() - start;
+        final long allocatedBytes = Math.max(0, getAllocatedBytes() - startAllocatedBytes);
+        metrics.add(phase, nanos, allocatedBytes);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.toString();
+                event.problem = metrics.getProblemName();
+                event.allocated = allocatedBytes;
+                event.commit();
+            }
+        }
+    }
+
+    private long getAllocatedBytes() {
+        final long bytes = ThreadAllocation.getAllocatedBytes(threadId);
+        return phase.isRunOnWorkers()
+                ? bytes + ThreadAllocation.getWorkersAllocatedBytes(threadId)
+                : bytes;
+    }
+
+}
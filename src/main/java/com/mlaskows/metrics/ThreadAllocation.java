@@ -0,0 +1,113 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.metrics;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes allocated by single threads and by worker threads. Workers are
+ * fork-join threads, such as the common pool ones running parallel streams,
+ * and threads running {@link #tracked} tasks, whose allocation is kept when
+ * they exit.
+ */
+public class ThreadAllocation {
+
+    private static final ThreadMXBean THREAD_BEAN = getThreadBean();
+    private static final Set<Long> TRACKED_THREAD_IDS = ConcurrentHashMap.newKeySet();
+    private static final LongAdder EXITED_BYTES = new LongAdder();
+
+    private ThreadAllocation() {
+    }
+
+    /**
+     * Makes the thread running the task count as a worker until the task
+     * returns.
+     */
+    public static Runnable tracked(Runnable runnable) {
+        return () -> {
+            final long threadId = Thread.currentThread().getId();
+            TRACKED_THREAD_IDS.add(threadId);
+            try {
+                runnable.run();
+            } finally {
+                TRACKED_THREAD_IDS.remove(threadId);
+                EXITED_BYTES.add(getAllocatedBytes(threadId));
+            }
+        };
+    }
+
+    /**
+     * @return bytes allocated by the thread so far or 0 when allocation
+     * isn't measured by the JVM
+     */
+    static long getAllocatedBytes(long threadId) {
+        return THREAD_BEAN == null ? 0
+                : Math.max(0, THREAD_BEAN.getThreadAllocatedBytes(threadId));
+    }
+
+    /**
+     * @return bytes allocated so far by live workers other than the given
+     * thread and by workers which have exited
+     */
+    static long getWorkersAllocatedBytes(long excludedThreadId) {
+        if (THREAD_BEAN == null) {
+            return 0;
+        }
+        long bytes = EXITED_BYTES.sum();
+        for (Thread thread : getLiveThreads()) {
+            final long threadId = thread.getId();
+            if (threadId != excludedThreadId && (thread instanceof ForkJoinWorkerThread
+                    || TRACKED_THREAD_IDS.contains(threadId))) {
+                bytes += getAllocatedBytes(threadId);
+            }
+        }
+        return bytes;
+    }
+
+    private static Thread[] getLiveThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count;
+        while ((count = root.enumerate(threads, true)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        final Thread[] live = new Thread[count];
+        System.arraycopy(threads, 0, live, 0, count);
+        return live;
+    }
+
+    private static ThreadMXBean getThreadBean() {
+        final Object bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof ThreadMXBean) {
+            final ThreadMXBean threadBean = (ThreadMXBean) bean;
+            if (threadBean.isThreadAllocatedMemorySupported()
+                    && threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean;
+            }
+        }
+        return null;
+    }
+
+}
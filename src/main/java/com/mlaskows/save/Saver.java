@@ -19,6 +19,7 @@ import javafx.stage.FileChooser;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 public abstract class Saver {
 
@@ -31,4 +32,27 @@ public abstract class Saver {
         fileChooser.getExtensionFilters().add(extFilter);
         return fileChooser.showSaveDialog(null);
     }
+
+    /**
+     * Appends the extension of the selected filter if the chosen name
+     * doesn't end with any of the offered extensions.
+     */
+    protected File getFile(List<FileChooser.ExtensionFilter> extensionFilters) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().addAll(extensionFilters);
+        final File file = fileChooser.showSaveDialog(null);
+        if (file == null || fileChooser.getSelectedExtensionFilter() == null) {
+            return file;
+        }
+        for (FileChooser.ExtensionFilter filter : extensionFilters) {
+            for (String extension : filter.getExtensions()) {
+                if (file.getName().endsWith(extension.substring(1))) {
+                    return file;
+                }
+            }
+        }
+        final String extension = fileChooser.getSelectedExtensionFilter()
+                .getExtensions().get(0).substring(1);
+        return new File(file.getPath() + extension);
+    }
 }
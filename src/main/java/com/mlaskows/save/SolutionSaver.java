@@ -12,38 +12,45 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-
 package com.mlaskows.save;
 
 import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.tour.TourFiles;
+import com.mlaskows.tour.TourFormat;
 import com.mlaskows.tsplib.datamodel.item.Tsp;
+import javafx.stage.FileChooser;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class SolutionSaver extends Saver {
 
     private final Tsp tsp;
+    private final String tspContentHash;
     private final Solution solution;
 
-    public SolutionSaver(Tsp tsp, Solution solution) {
+    public SolutionSaver(Tsp tsp, String tspContentHash, Solution solution) {
         this.tsp = tsp;
+        this.tspContentHash = tspContentHash;
         this.solution = solution;
     }
 
     @Override
     public void save() throws IOException {
-        final File file = getFile("TXT files (*.txt)", "*.txt");
+        final File file = getFile(getExtensionFilters());
         if (file != null) {
-            try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
-                writer.write(tsp.getName());
-                writer.write(System.getProperty("line.separator"));
-                writer.write(tsp.getComment());
-                writer.write(System.getProperty("line.separator"));
-                writer.write(solution.toString());
-            }
+            TourFiles.save(file, tsp, tspContentHash, solution);
         }
     }
+
+    public static List<FileChooser.ExtensionFilter> getExtensionFilters() {
+        return Arrays.stream(TourFormat.values())
+                .map(format -> new FileChooser.ExtensionFilter(
+                        format.getDescription(), "*." + format.getExtension()))
+                .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.Parameters;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every algorithm with its default parameters at the same time and
+ * periodically stops the worst one while it is clearly behind the leader.
+ * Every algorithm gets an equal share of the cores and the share of a
+ * stopped one goes to the leaders.
+ */
+public class AlgorithmRace extends ParallelSolve {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlgorithmRace.class);
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+    private static final int MIN_ITERATIONS = 10;
+    private static final double LOSING_MARGIN = 0.02;
+
+    public AlgorithmRace(Tsp tsp, String tspContentHash,
+                         StaticDataCache staticDataCache,
+                         StopCondition stopCondition) {
+        super(createJobs(tsp, tspContentHash, staticDataCache), stopCondition);
+    }
+
+    private static List<SolvingJob> createJobs(Tsp tsp, String tspContentHash,
+                                               StaticDataCache staticDataCache) {
+        final List<SolvingJob> jobs = new ArrayList<>();
+        for (AlgorithmType algorithmType : AlgorithmType.values()) {
+            final Parameters parameters = new Parameters();
+            parameters.setAlgorithmType(algorithmType);
+            parameters.initParameters(tsp.getDimension());
+            jobs.add(new SolvingJob(tsp, tspContentHash, parameters.getConfig(),
+                    algorithmType, staticDataCache));
+        }
+        return jobs;
+    }
+
+    @Override
+    public Solution solve(IterationListener listener) throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors
+                .newSingleThreadScheduledExecutor(new DaemonThreadFactory("race"));
+        scheduler.scheduleWithFixedDelay(this::stopWorst, CHECK_INTERVAL_MILLIS,
+                CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            return super.solve(listener);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void stopWorst() {
+        final List<SolvingJob> running = getJobs().stream()
+                .filter(job -> job.getSolution() == null && !job.isStopped()
+                        && job.getIterations() >= MIN_ITERATIONS)
+                .sorted(Comparator.comparingInt(SolvingJob::getBestTourLength))
+                .collect(Collectors.toList());
+        if (running.size() < 2) {
+            return;
+        }
+        final SolvingJob leader = running.get(0);
+        final SolvingJob worst = running.get(running.size() - 1);
+        if (worst.getBestTourLength() > leader.getBestTourLength() * (1 + LOSING_MARGIN)) {
+            LOG.debug("Stopping " + worst.getAlgorithmType() + " at "
+                    + worst.getBestTourLength() + ", leader "
+                    + leader.getAlgorithmType() + " at "
+                    + leader.getBestTourLength());
+            worst.stop();
+            releaseShare(worst);
+        }
+    }
+
+}
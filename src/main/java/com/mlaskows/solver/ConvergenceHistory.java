@@ -0,0 +1,192 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.solver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Tour lengths of a run over iterations kept in a fixed number of buckets.
+ * When all buckets are full neighbouring pairs are merged and each bucket
+ * covers twice as many iterations, so memory doesn't depend on run length.
+ * Every bucket keeps the minimum and maximum iteration tour length and the
+ * best tour length at its end.
+ */
+public class ConvergenceHistory {
+
+    private static final int DEFAULT_CAPACITY = 512;
+
+    private final int capacity;
+    private final int[] iterationMin;
+    private final int[] iterationMax;
+    private final int[] best;
+    private int size;
+    private int bucketSize = 1;
+    private int filled;
+    private long iterations;
+
+    public ConvergenceHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConvergenceHistory(int capacity) {
+        if (capacity < 2 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Capacity must be even and at least 2");
+        }
+        this.capacity = capacity;
+        iterationMin = new int[capacity];
+        iterationMax = new int[capacity];
+        best = new int[capacity];
+    }
+
+    public synchronized void add(int iterationTourLength, int bestTourLength) {
+        if (size == 0 || filled == bucketSize) {
+            if (size == capacity) {
+                mergePairs();
+            }
+            iterationMin[size] = Integer.MAX_VALUE;
+            iterationMax[size] = Integer.MIN_VALUE;
+            size++;
+            filled = 0;
+        }
+        final int last = size - 1;
+        iterationMin[last] = Math.min(iterationMin[last], iterationTourLength);
+        iterationMax[last] = Math.max(iterationMax[last], iterationTourLength);
+        best[last] = bestTourLength;
+        filled++;
+        iterations++;
+    }
+
+    private void mergePairs() {
+        for (int i = 0; i < capacity / 2; i++) {
+            iterationMin[i] = Math.min(iterationMin[2 * i], iterationMin[2 * i + 1]);
+            iterationMax[i] = Math.max(iterationMax[2 * i], iterationMax[2 * i + 1]);
+            best[i] = best[2 * i + 1];
+        }
+        size = capacity / 2;
+        bucketSize *= 2;
+    }
+
+    /**
+     * Replaces recorded lengths with the snapshot's, so a resumed run
+     * continues its history.
+     */
+    public synchronized void restore(Snapshot snapshot) {
+        if (snapshot.size > capacity) {
+            throw new IllegalArgumentException("Snapshot has more buckets than capacity");
+        }
+        System.arraycopy(snapshot.iterationMin, 0, iterationMin, 0, snapshot.size);
+        System.arraycopy(snapshot.iterationMax, 0, iterationMax, 0, snapshot.size);
+        System.arraycopy(snapshot.best, 0, best, 0, snapshot.size);
+        size = snapshot.size;
+        bucketSize = snapshot.bucketSize;
+        iterations = snapshot.iterations;
+        filled = (int) (iterations - (long) Math.max(0, size - 1) * bucketSize);
+    }
+
+    public synchronized long getIterations() {
+        return iterations;
+    }
+
+    public synchronized Snapshot getSnapshot() {
+        return new Snapshot(iterations, size, bucketSize, Arrays.copyOf(iterationMin, size),
+                Arrays.copyOf(iterationMax, size), Arrays.copyOf(best, size));
+    }
+
+    public static class Snapshot {
+
+        private final long iterations;
+        private final int size;
+        private final int bucketSize;
+        private final int[] iterationMin;
+        private final int[] iterationMax;
+        private final int[] best;
+
+        private Snapshot(long iterations, int size, int bucketSize,
+                         int[] iterationMin, int[] iterationMax, int[] best) {
+            this.iterations = iterations;
+            this.size = size;
+            this.bucketSize = bucketSize;
+            this.iterationMin = iterationMin;
+            this.iterationMax = iterationMax;
+            this.best = best;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return number of the first iteration in the bucket, counted from 1
+         */
+        public long getIteration(int bucket) {
+            return (long) bucket * bucketSize + 1;
+        }
+
+        public int getIterationMin(int bucket) {
+            return iterationMin[bucket];
+        }
+
+        public int getIterationMax(int bucket) {
+            return iterationMax[bucket];
+        }
+
+        public int getBest(int bucket) {
+            return best[bucket];
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeLong(iterations);
+            out.writeInt(size);
+            out.writeInt(bucketSize);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(iterationMin[i]);
+                out.writeInt(iterationMax[i]);
+                out.writeInt(best[i]);
+            }
+        }
+
+        /**
+         * @throws IllegalArgumentException if read values are inconsistent
+         */
+        public static Snapshot read(DataInput in) throws IOException {
+            final long iterations = in.readLong();
+            final int size = in.readInt();
+            final int bucketSize = in.readInt();
+            if (size < 0 || bucketSize < 1 || iterations < 0
+                    || iterations > (long) size * bucketSize) {
+                throw new IllegalArgumentException("Malformed convergence history");
+            }
+            final int[] iterationMin = new int[size];
+            final int[] iterationMax = new int[size];
+            final int[] best = new int[size];
+            for (int i = 0; i < size; i++) {
+                iterationMin[i] = in.readInt();
+                iterationMax[i] = in.readInt();
+                best[i] = in.readInt();
+            }
+            return new Snapshot(iterations, size, bucketSize, iterationMin,
+                    iterationMax, best);
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hands values published from any thread over to the FX application thread,
+ * keeping only the latest one so the consumer runs at most once per frame.
+ */
+public class FramePublisher<T> extends AnimationTimer {
+
+    private final AtomicReference<T> pending = new AtomicReference<>();
+    private final Consumer<T> consumer;
+
+    public FramePublisher(Consumer<T> consumer) {
+        this.consumer = consumer;
+    }
+
+    public void publish(T value) {
+        pending.set(value);
+    }
+
+    @Override
+    public void handle(long now) {
+        flush();
+    }
+
+    public void flush() {
+        final T value = pending.getAndSet(null);
+        if (value != null) {
+            consumer.accept(value);
+        }
+    }
+
+}
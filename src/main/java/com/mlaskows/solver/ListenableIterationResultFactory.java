@@ -0,0 +1,203 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.solver;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.datamodel.Ant;
+import com.mlaskows.antsp.datamodel.IterationResult;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.solvers.antsolvers.util.ant.IterationResultFactory;
+import com.mlaskows.antsp.solvers.heuristic.NewTwoOptSolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Notifies a listener about every iteration. With a warm start tour the
+ * tour stays the best ant so far until ants find a better one, so
+ * pheromone of elitist, rank based and MAX-MIN deposits is biased towards
+ * it and stagnation counts from it. In the first iteration it also takes
+ * the place of the worst ant, which biases Ant System deposits once. A
+ * resumed run passes the iterations it had already gone without
+ * improvement.
+ * <p>
+ * Ants are built the same way as by the library, but in chunks on the
+ * colony's executor and with random choices drawn from the colony's seed.
+ * Every ant gets its own generator split from the seed on the solver thread,
+ * so tours don't depend on thread scheduling. Local search and the MAX-MIN
+ * deposit still use the library's thread local random.
+ */
+public class ListenableIterationResultFactory extends IterationResultFactory {
+
+    private final StaticData data;
+    private final AcoConfig config;
+    private final IterationListener listener;
+    private final Ant warmStartAnt;
+    private final ColonyExecution execution;
+    private final SplittableRandom random;
+    private Ant bestAntSoFar;
+    private int iterationsWithNoImprovement;
+    private boolean firstIteration = true;
+
+    public ListenableIterationResultFactory(StaticData data, AcoConfig config,
+                                            IterationListener listener) {
+        this(data, config, listener, null, 0, new ColonyExecution());
+    }
+
+    public ListenableIterationResultFactory(StaticData data, AcoConfig config,
+                                            IterationListener listener,
+                                            Solution warmStart,
+                                            int iterationsWithNoImprovement,
+                                            ColonyExecution execution) {
+        super(data, config);
+        this.data = data;
+        this.config = config;
+        this.listener = listener;
+        this.warmStartAnt = warmStart == null ? null : new Ant(warmStart);
+        this.execution = execution;
+        this.random = new SplittableRandom(execution.getSeed());
+        this.bestAntSoFar = warmStartAnt;
+        this.iterationsWithNoImprovement = iterationsWithNoImprovement;
+    }
+
+    @Override
+    public IterationResult createIterationResult(double[][] choicesInfo) {
+        final List<Ant> sortedAnts = constructAntsSolutionsSorted(choicesInfo);
+        final Ant iterationBestAnt = sortedAnts.get(0);
+        if (bestAntSoFar == null || iterationBestAnt.hasBetterSolutionThen(bestAntSoFar)) {
+            bestAntSoFar = iterationBestAnt;
+            iterationsWithNoImprovement = 0;
+        } else {
+            iterationsWithNoImprovement++;
+        }
+        IterationResult result = new IterationResult(sortedAnts, bestAntSoFar,
+                iterationsWithNoImprovement);
+        if (warmStartAnt != null && firstIteration) {
+            result = withWarmStartAnt(result);
+        }
+        firstIteration = false;
+        listener.onIteration(result);
+        return result;
+    }
+
+    private List<Ant> constructAntsSolutionsSorted(double[][] choicesInfo) {
+        final int antsCount = config.getAntsCount();
+        final SplittableRandom[] randoms = new SplittableRandom[antsCount];
+        for (int i = 0; i < antsCount; i++) {
+            randoms[i] = random.split();
+        }
+        final int chunks = Math.min(execution.getParallelism(), antsCount);
+        final List<CompletableFuture<List<Ant>>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            final int from = chunk * antsCount / chunks;
+            final int to = (chunk + 1) * antsCount / chunks;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> constructAnts(choicesInfo, randoms, from, to),
+                    execution.getExecutor()));
+        }
+        final List<Ant> ants = new ArrayList<>(antsCount);
+        try {
+            futures.forEach(future -> ants.addAll(future.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : e;
+        }
+        Collections.sort(ants);
+        return ants;
+    }
+
+    private List<Ant> constructAnts(double[][] choicesInfo,
+                                    SplittableRandom[] randoms, int from, int to) {
+        final int problemSize = data.getProblemSize();
+        final List<Ant> ants = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final SplittableRandom antRandom = randoms[i];
+            final Ant ant = new Ant(problemSize, antRandom.nextInt(problemSize));
+            constructAntSolution(ant, choicesInfo, antRandom);
+            ants.add(config.isWithLocalSearch()
+                    ? new Ant(new NewTwoOptSolver(ant.getSolution(), data).getSolution())
+                    : ant);
+        }
+        return ants;
+    }
+
+    private void constructAntSolution(Ant ant, double[][] choicesInfo,
+                                      SplittableRandom antRandom) {
+        final int[][] distanceMatrix = data.getDistanceMatrix();
+        final int problemSize = data.getProblemSize();
+        for (int step = 1; step < problemSize; step++) {
+            final int current = ant.getCurrentIndex();
+            final int next = getNextIndex(ant, current, choicesInfo, antRandom);
+            ant.visit(next, distanceMatrix[current][next]);
+        }
+        ant.visit(ant.getFirstIndex(),
+                distanceMatrix[ant.getCurrentIndex()][ant.getFirstIndex()]);
+    }
+
+    private int getNextIndex(Ant ant, int current, double[][] choicesInfo,
+                             SplittableRandom antRandom) {
+        double sumProbabilities = 0;
+        for (int neighbour : data.getNearestNeighborsMatrix().get()[current]) {
+            if (ant.notVisited(neighbour)) {
+                sumProbabilities += choicesInfo[current][neighbour];
+            }
+        }
+        if (sumProbabilities == 0) {
+            return chooseBestNext(ant, current, choicesInfo);
+        }
+        final double random = antRandom.nextDouble(0, sumProbabilities);
+        double probability = 0;
+        for (int j = 0; j < data.getProblemSize(); j++) {
+            if (ant.notVisited(j)) {
+                probability += choicesInfo[current][j];
+                if (random < probability) {
+                    return j;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int chooseBestNext(Ant ant, int current, double[][] choicesInfo) {
+        int next = 0;
+        double best = 0;
+        for (int j = 0; j < data.getProblemSize(); j++) {
+            if (ant.notVisited(j) && choicesInfo[current][j] >= best) {
+                best = choicesInfo[current][j];
+                next = j;
+            }
+        }
+        return next;
+    }
+
+    private IterationResult withWarmStartAnt(IterationResult result) {
+        final List<Ant> sortedAnts = new ArrayList<>(result.getSortedAnts());
+        sortedAnts.remove(sortedAnts.size() - 1);
+        int index = 0;
+        while (index < sortedAnts.size()
+                && sortedAnts.get(index).getTourLength() <= warmStartAnt.getTourLength()) {
+            index++;
+        }
+        sortedAnts.add(index, warmStartAnt);
+        return new IterationResult(sortedAnts, result.getBestAntSoFar(),
+                result.getIterationsWithNoImprovement());
+    }
+
+}
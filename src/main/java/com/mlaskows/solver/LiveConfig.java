@@ -0,0 +1,293 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.config.MaxMinConfig;
+import com.mlaskows.antsp.config.RankedBasedConfig;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Config of a running solve whose pheromone and heuristic importance,
+ * evaporation factor, stagnation count, local search, weight and
+ * reinitialization count can change without restarting it. Every colony
+ * gets its own {@link View} and reads values through it on every iteration;
+ * requested values take effect in a colony when it calls
+ * {@link View#applyPending()} between its iterations, so colonies never
+ * see values change in the middle of an iteration.
+ */
+public class LiveConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveConfig.class);
+
+    private final AlgorithmType algorithmType;
+    private volatile Request latest;
+
+    public LiveConfig(AlgorithmType algorithmType, AcoConfig initial) {
+        this.algorithmType = algorithmType;
+        this.latest = new Request(0, initial);
+    }
+
+    /**
+     * @return new view for one colony, starting with the last requested
+     * values
+     */
+    public View createView() {
+        return new View(latest);
+    }
+
+    /**
+     * Schedules values to apply at the next iteration boundary of every
+     * colony. Algorithm, ants count and nearest neighbour factor size the
+     * solver's data, so changing them is rejected.
+     *
+     * @throws IllegalArgumentException if a value that can't change differs
+     */
+    public synchronized void request(AlgorithmType requestedType, AcoConfig requested) {
+        final AcoConfig running = latest.config;
+        if (requestedType != algorithmType) {
+            throw new IllegalArgumentException("Algorithm can't change from "
+                    + algorithmType + " to " + requestedType);
+        }
+        if (requested.getAntsCount() != running.getAntsCount()) {
+            throw new IllegalArgumentException("Ants count can't change from "
+                    + running.getAntsCount() + " to " + requested.getAntsCount());
+        }
+        if (requested.getNearestNeighbourFactor() != running.getNearestNeighbourFactor()) {
+            throw new IllegalArgumentException("NN factor can't change from "
+                    + running.getNearestNeighbourFactor() + " to "
+                    + requested.getNearestNeighbourFactor());
+        }
+        latest = new Request(latest.version + 1, requested);
+    }
+
+    private static class Request {
+
+        private final long version;
+        private final AcoConfig config;
+
+        Request(long version, AcoConfig config) {
+            this.version = version;
+            this.config = config;
+        }
+
+    }
+
+    /**
+     * Values seen by one colony.
+     */
+    public class View {
+
+        private final AcoConfig config;
+        private volatile AcoConfig current;
+        private long appliedVersion;
+
+        private View(Request request) {
+            this.current = request.config;
+            this.appliedVersion = request.version;
+            this.config = createConfig(request.config);
+        }
+
+        private AcoConfig createConfig(AcoConfig initial) {
+            if (initial instanceof MaxMinConfig) {
+                return new LiveMaxMinConfig(this, (MaxMinConfig) initial);
+            }
+            if (initial instanceof RankedBasedConfig) {
+                return new LiveRankedBasedConfig(this, (RankedBasedConfig) initial);
+            }
+            return new LiveAcoConfig(this, initial);
+        }
+
+        /**
+         * @return config to give to the colony's solver
+         */
+        public AcoConfig getConfig() {
+            return config;
+        }
+
+        /**
+         * Makes the last requested values visible to the colony. Called from
+         * its solver thread after ants have built their tours and before
+         * pheromone is updated, so an iteration never mixes old and new
+         * values.
+         */
+        public void applyPending() {
+            final Request request = latest;
+            if (request.version != appliedVersion) {
+                appliedVersion = request.version;
+                current = request.config;
+                LOG.debug("Applied config " + request.config);
+            }
+        }
+
+    }
+
+    private static class LiveAcoConfig extends AcoConfig {
+
+        private final View view;
+
+        LiveAcoConfig(View view, AcoConfig initial) {
+            super(initial.getHeuristicImportance(),
+                    initial.getPheromoneImportance(),
+                    initial.getPheromoneEvaporationFactor(),
+                    initial.getAntsCount(),
+                    initial.getNearestNeighbourFactor(),
+                    initial.getMaxStagnationCount(),
+                    initial.isWithLocalSearch());
+            this.view = view;
+        }
+
+        @Override
+        public int getHeuristicImportance() {
+            return view.current.getHeuristicImportance();
+        }
+
+        @Override
+        public int getPheromoneImportance() {
+            return view.current.getPheromoneImportance();
+        }
+
+        @Override
+        public double getPheromoneEvaporationFactor() {
+            return view.current.getPheromoneEvaporationFactor();
+        }
+
+        @Override
+        public int getMaxStagnationCount() {
+            return view.current.getMaxStagnationCount();
+        }
+
+        @Override
+        public boolean isWithLocalSearch() {
+            return view.current.isWithLocalSearch();
+        }
+
+        @Override
+        public String toString() {
+            return view.current.toString();
+        }
+
+    }
+
+    private static class LiveMaxMinConfig extends MaxMinConfig {
+
+        private final View view;
+
+        LiveMaxMinConfig(View view, MaxMinConfig initial) {
+            super(initial.getHeuristicImportance(),
+                    initial.getPheromoneImportance(),
+                    initial.getPheromoneEvaporationFactor(),
+                    initial.getAntsCount(),
+                    initial.getNearestNeighbourFactor(),
+                    initial.getMaxStagnationCount(),
+                    initial.getReinitializationCount(),
+                    initial.isWithLocalSearch());
+            this.view = view;
+        }
+
+        @Override
+        public int getHeuristicImportance() {
+            return view.current.getHeuristicImportance();
+        }
+
+        @Override
+        public int getPheromoneImportance() {
+            return view.current.getPheromoneImportance();
+        }
+
+        @Override
+        public double getPheromoneEvaporationFactor() {
+            return view.current.getPheromoneEvaporationFactor();
+        }
+
+        @Override
+        public int getMaxStagnationCount() {
+            return view.current.getMaxStagnationCount();
+        }
+
+        @Override
+        public boolean isWithLocalSearch() {
+            return view.current.isWithLocalSearch();
+        }
+
+        @Override
+        public int getReinitializationCount() {
+            return ((MaxMinConfig) view.current).getReinitializationCount();
+        }
+
+        @Override
+        public String toString() {
+            return view.current.toString();
+        }
+
+    }
+
+    private static class LiveRankedBasedConfig extends RankedBasedConfig {
+
+        private final View view;
+
+        LiveRankedBasedConfig(View view, RankedBasedConfig initial) {
+            super(initial.getHeuristicImportance(),
+                    initial.getPheromoneImportance(),
+                    initial.getPheromoneEvaporationFactor(),
+                    initial.getAntsCount(),
+                    initial.getNearestNeighbourFactor(),
+                    initial.getMaxStagnationCount(),
+                    initial.getWeight(),
+                    initial.isWithLocalSearch());
+            this.view = view;
+        }
+
+        @Override
+        public int getHeuristicImportance() {
+            return view.current.getHeuristicImportance();
+        }
+
+        @Override
+        public int getPheromoneImportance() {
+            return view.current.getPheromoneImportance();
+        }
+
+        @Override
+        public double getPheromoneEvaporationFactor() {
+            return view.current.getPheromoneEvaporationFactor();
+        }
+
+        @Override
+        public int getMaxStagnationCount() {
+            return view.current.getMaxStagnationCount();
+        }
+
+        @Override
+        public boolean isWithLocalSearch() {
+            return view.current.isWithLocalSearch();
+        }
+
+        @Override
+        public int getWeight() {
+            return ((RankedBasedConfig) view.current).getWeight();
+        }
+
+        @Override
+        public String toString() {
+            return view.current.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs solving jobs at the same time and returns the best solution. Jobs
+ * which use the same static data key get the same cached matrices, so
+ * colonies of one problem share them read only.
+ * <p>
+ * Ants of all jobs are built on one pool with a thread per core. Jobs get
+ * equal shares of its threads while they run and shares of finished or
+ * stopped jobs go to the others, leaders first. Job {@code i} uses seed {@code base + i}, where the base
+ * seed is taken from the {@value #SEED_PROPERTY} system property or drawn
+ * at random, and is logged so a run can be repeated.
+ */
+public class ParallelSolve {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelSolve.class);
+    private static final String SEED_PROPERTY = "antsp.seed";
+
+    private final List<SolvingJob> jobs;
+    private final StopCondition stopCondition;
+    private final Set<SolvingJob> releasedJobs = new HashSet<>();
+
+    public ParallelSolve(List<SolvingJob> jobs, StopCondition stopCondition) {
+        this.jobs = Collections.unmodifiableList(new ArrayList<>(jobs));
+        this.stopCondition = stopCondition;
+        final long baseSeed = Long.getLong(SEED_PROPERTY,
+                new SplittableRandom().nextLong());
+        for (int i = 0; i < this.jobs.size(); i++) {
+            this.jobs.get(i).getExecution().setSeed(baseSeed + i);
+        }
+    }
+
+    /**
+     * Listener is called from the threads of all jobs. All jobs are stopped
+     * once the stop condition is met and their best tours so far are
+     * compared. The time limit covers getting static data too, including
+     * data jobs have already got before this call.
+     */
+    public Solution solve(IterationListener listener) throws InterruptedException {
+        final ScheduledExecutorService timer = stopCondition.hasTimeLimit()
+                ? Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory("solve-timer"))
+                : null;
+        if (timer != null) {
+            final long dataMillis = TimeUnit.NANOSECONDS.toMillis(jobs.stream()
+                    .mapToLong(SolvingJob::getDataNanos)
+                    .sum());
+            timer.schedule(this::stop,
+                    Math.max(0, stopCondition.getTimeLimitMillis() - dataMillis),
+                    TimeUnit.MILLISECONDS);
+        }
+        final IterationListener stoppingListener = result -> {
+            listener.onIteration(result);
+            if (stopCondition.isTargetReached(result.getBestAntSoFar().getTourLength())) {
+                stop();
+            }
+        };
+        try {
+            return solveAll(stoppingListener);
+        } finally {
+            if (timer != null) {
+                timer.shutdownNow();
+            }
+        }
+    }
+
+    private Solution solveAll(IterationListener listener) throws InterruptedException {
+        jobs.forEach(job -> LOG.info(job.getAlgorithmType() + " colony seed "
+                + job.getExecution().getSeed()));
+        if (jobs.size() == 1) {
+            final SolvingJob job = jobs.get(0);
+            return job.solve(job.getData(), listener);
+        }
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final ExecutorService antPool = Executors.newFixedThreadPool(cores,
+                new DaemonThreadFactory("ants"));
+        final ExecutorService colonies = Executors.newFixedThreadPool(jobs.size(),
+                new DaemonThreadFactory("colony"));
+        synchronized (this) {
+            releasedJobs.clear();
+        }
+        try {
+            final List<Future<Solution>> futures = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                final SolvingJob job = jobs.get(i);
+                job.getExecution().setExecutor(antPool);
+                job.getExecution().setParallelism(cores / jobs.size()
+                        + (i < cores % jobs.size() ? 1 : 0));
+                futures.add(colonies.submit(() -> {
+                    try {
+                        return job.solve(job.getData(), listener);
+                    } finally {
+                        releaseShare(job);
+                    }
+                }));
+            }
+            Solution best = null;
+            RuntimeException failure = null;
+            for (Future<Solution> future : futures) {
+                try {
+                    final Solution solution = future.get();
+                    if (best == null || solution.getTourLength() < best.getTourLength()) {
+                        best = solution;
+                    }
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+            if (best == null) {
+                throw failure;
+            }
+            return best;
+        } finally {
+            colonies.shutdownNow();
+            antPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands threads of a job which doesn't need them any more to the jobs
+     * still running, one at a time starting from the one with the best tour.
+     * A stopped job finishes its current iteration with the threads it had.
+     */
+    protected synchronized void releaseShare(SolvingJob released) {
+        if (!releasedJobs.add(released)) {
+            return;
+        }
+        final List<SolvingJob> running = new ArrayList<>();
+        for (SolvingJob job : jobs) {
+            if (!releasedJobs.contains(job) && job.getSolution() == null
+                    && !job.isStopped()) {
+                running.add(job);
+            }
+        }
+        if (running.isEmpty()) {
+            return;
+        }
+        running.sort(Comparator.comparingInt(SolvingJob::getBestTourLength));
+        final int threads = released.getExecution().getParallelism();
+        for (int i = 0; i < threads; i++) {
+            final ColonyExecution receiver = running.get(i % running.size())
+                    .getExecution();
+            receiver.setParallelism(receiver.getParallelism() + 1);
+        }
+    }
+
+    public void stop() {
+        jobs.forEach(SolvingJob::stop);
+    }
+
+    public List<SolvingJob> getJobs() {
+        return jobs;
+    }
+
+}
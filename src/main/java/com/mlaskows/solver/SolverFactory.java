@@ -0,0 +1,91 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.config.MaxMinConfig;
+import com.mlaskows.antsp.config.RankedBasedConfig;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.antsp.solvers.Solver;
+import com.mlaskows.antsp.solvers.antsolvers.ConfigurableAntSolver;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.AntSystemPheromoneBehaviour;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.ElitistAntPheromoneBehaviour;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.GenericPheromoneBehaviour;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.MaxMinPheromoneBehaviour;
+import com.mlaskows.antsp.solvers.antsolvers.util.pheromone.RankBasedAntPheromoneBehaviour;
+
+public class SolverFactory {
+
+    public static Solver createSolver(AlgorithmType algorithmType,
+                                      StaticData data,
+                                      AcoConfig config,
+                                      IterationListener listener) {
+        return createSolver(algorithmType, data, config, listener, null);
+    }
+
+    /**
+     * @param warmStart tour the solver starts from or {@code null}
+     */
+    public static Solver createSolver(AlgorithmType algorithmType,
+                                      StaticData data,
+                                      AcoConfig config,
+                                      IterationListener listener,
+                                      Solution warmStart) {
+        return createSolver(algorithmType, data, config, listener, warmStart, 0,
+                new ColonyExecution());
+    }
+
+    /**
+     * @param warmStart                   tour the solver starts from or
+     *                                    {@code null}
+     * @param iterationsWithNoImprovement stagnation the solver starts with,
+     *                                    e.g. of a resumed run
+     * @param execution                   executor, parallelism and seed of
+     *                                    ant construction
+     */
+    public static Solver createSolver(AlgorithmType algorithmType,
+                                      StaticData data,
+                                      AcoConfig config,
+                                      IterationListener listener,
+                                      Solution warmStart,
+                                      int iterationsWithNoImprovement,
+                                      ColonyExecution execution) {
+        return new ConfigurableAntSolver(data, config,
+                new ListenableIterationResultFactory(data, config, listener,
+                        warmStart, iterationsWithNoImprovement, execution),
+                getPheromoneBehaviour(algorithmType, data, config));
+    }
+
+    private static GenericPheromoneBehaviour getPheromoneBehaviour(
+            AlgorithmType algorithmType, StaticData data, AcoConfig config) {
+        switch (algorithmType) {
+            case ANT_SYSTEM:
+                return new AntSystemPheromoneBehaviour(data, config);
+            case RANK_BASED:
+                return new RankBasedAntPheromoneBehaviour(data, (RankedBasedConfig) config);
+            case MIN_MAX:
+                return new MaxMinPheromoneBehaviour(data, (MaxMinConfig) config);
+            case ELITIST:
+                return new ElitistAntPheromoneBehaviour(data, config);
+            default:
+                throw new IllegalArgumentException(algorithmType.toString()
+                        + " not implemented yet");
+        }
+    }
+
+}
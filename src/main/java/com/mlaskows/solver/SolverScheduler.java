@@ -0,0 +1,103 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.concurrent.DaemonThreadFactory;
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs solving tasks one at a time on a single reused thread. What happens
+ * to a task submitted while another one is active depends on the policy.
+ * Methods are meant to be called from the JavaFX application thread.
+ */
+public class SolverScheduler {
+
+    public enum Policy {
+
+        REJECT("Reject new solve"),
+        QUEUE("Queue new solve"),
+        CANCEL_PREVIOUS("Cancel previous solve");
+
+        private final String name;
+
+        Policy(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            new DaemonThreadFactory("solver"));
+    private final List<Task<?>> tasks = new ArrayList<>();
+    private Policy policy = Policy.CANCEL_PREVIOUS;
+
+    /**
+     * @return {@code false} if the task was rejected
+     */
+    public boolean submit(Task<?> task) {
+        tasks.removeIf(Task::isDone);
+        if (!tasks.isEmpty()) {
+            switch (policy) {
+                case REJECT:
+                    return false;
+                case CANCEL_PREVIOUS:
+                    cancelAll();
+                    break;
+                default:
+            }
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        tasks.add(task);
+        return true;
+    }
+
+    /**
+     * Cancels active and queued tasks. Tasks stop their solvers when
+     * cancelled, so the thread is free once the current iteration ends.
+     */
+    public void cancelAll() {
+        tasks.forEach(Task::cancel);
+        tasks.clear();
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+import com.mlaskows.antsp.config.AcoConfig;
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.antsp.datamodel.data.StaticData;
+import com.mlaskows.antsp.solvers.AlgorithmType;
+import com.mlaskows.antsp.solvers.Solver;
+import com.mlaskows.data.StaticDataCache;
+import com.mlaskows.data.StaticDataKey;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+/**
+ * Solving pipeline shared by the GUI and batch mode: gets static data from
+ * the cache and runs a solver on it, timing both phases.
+ */
+public class SolvingJob {
+
+    private final Tsp tsp;
+    private final String tspContentHash;
+    private final AcoConfig config;
+    private final AlgorithmType algorithmType;
+    private final StaticDataCache staticDataCache;
+    private final LiveConfig.View liveConfig;
+    private final ConvergenceHistory history = new ConvergenceHistory();
+    private final ColonyExecution execution = new ColonyExecution();
+    private volatile Solver solver;
+    private volatile int bestTourLength = Integer.MAX_VALUE;
+    private volatile boolean stopped;
+    private volatile boolean iterated;
+    private StaticData data;
+    private Solution solution;
+    private long dataNanos;
+    private long solveNanos;
+    private volatile int iterations;
+    private volatile int iterationsWithNoImprovement;
+    private Solution warmStart;
+
+    public SolvingJob(Tsp tsp, String tspContentHash, AcoConfig config,
+                      AlgorithmType algorithmType, StaticDataCache staticDataCache) {
+        this(tsp, tspContentHash, config, algorithmType, staticDataCache, null);
+    }
+
+    /**
+     * Creates a job whose config can change while solving, requested values
+     * are applied after each of its iterations.
+     */
+    public SolvingJob(Tsp tsp, String tspContentHash, LiveConfig.View liveConfig,
+                      AlgorithmType algorithmType, StaticDataCache staticDataCache) {
+        this(tsp, tspContentHash, liveConfig.getConfig(), algorithmType,
+                staticDataCache, liveConfig);
+    }
+
+    private SolvingJob(Tsp tsp, String tspContentHash, AcoConfig config,
+                       AlgorithmType algorithmType, StaticDataCache staticDataCache,
+                       LiveConfig.View liveConfig) {
+        this.tsp = tsp;
+        this.tspContentHash = tspContentHash;
+        this.config = config;
+        this.algorithmType = algorithmType;
+        this.staticDataCache = staticDataCache;
+        this.liveConfig = liveConfig;
+    }
+
+    public StaticData getData() {
+        if (data == null) {
+            final long start = System.nanoTime();
+            data = staticDataCache.get(new StaticDataKey(tsp, tspContentHash,
+                    config.getNearestNeighbourFactor(), algorithmType.isAntBased()));
+            dataNanos = System.nanoTime() - start;
+        }
+        return data;
+    }
+
+    /**
+     * A job stopped before the solver started returns the tour it would
+     * start from. The library solver has no best tour until its first
+     * iteration finishes, so a stop requested during that iteration takes
+     * effect at its end.
+     */
+    public Solution solve(StaticData cachedData, IterationListener listener) {
+        final long start = System.nanoTime();
+        final StaticData data = warmStart == null ? cachedData
+                : withHeuristicSolution(cachedData, warmStart);
+        try {
+            if (stopped) {
+                solution = getStartSolution(data);
+                return solution;
+            }
+            solver = SolverFactory.createSolver(algorithmType, data, config,
+                    result -> {
+                        if (liveConfig != null) {
+                            liveConfig.applyPending();
+                        }
+                        iterations++;
+                        iterationsWithNoImprovement = result.getIterationsWithNoImprovement();
+                        bestTourLength = Math.min(bestTourLength,
+                                result.getBestAntSoFar().getTourLength());
+                        history.add(result.getIterationBestAnt().getTourLength(),
+                                result.getBestAntSoFar().getTourLength());
+                        iterated = true;
+                        if (stopped) {
+                            solver.stop();
+                        }
+                        listener.onIteration(result);
+                    }, warmStart, iterationsWithNoImprovement, execution);
+            solution = solver.getSolution();
+            return solution;
+        } finally {
+            solveNanos = System.nanoTime() - start;
+        }
+    }
+
+    private static Solution getStartSolution(StaticData data) {
+        return data.getHeuristicSolution().orElseThrow(() ->
+                new IllegalStateException("Solver stopped before its first iteration"));
+    }
+
+    /**
+     * Shares matrices of cached data but replaces its nearest neighbour tour,
+     * which sets initial pheromone levels and is returned when ants don't
+     * beat it.
+     */
+    private static StaticData withHeuristicSolution(StaticData data, Solution solution) {
+        return new StaticData(data.getDistanceMatrix(),
+                data.getNearestNeighborsMatrix().orElse(null),
+                data.getHeuristicInformationMatrix().orElse(null), solution);
+    }
+
+    public void stop() {
+        stopped = true;
+        final Solver running = solver;
+        if (running != null && iterated) {
+            running.stop();
+        }
+    }
+
+    /**
+     * Makes the solver start from the given tour instead of the nearest
+     * neighbour one. Must be called before {@link #solve}.
+     */
+    public void setWarmStart(Solution warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    /**
+     * Continues a run from its best tour, history and iterations since its
+     * last improvement, for example ones saved in a checkpoint, so the
+     * solver gets only the rest of its stagnation budget. Must be called
+     * before {@link #solve}.
+     */
+    public void resume(Solution bestTour, ConvergenceHistory.Snapshot snapshot,
+                       int iterationsWithNoImprovement) {
+        setWarmStart(bestTour);
+        history.restore(snapshot);
+        iterations = (int) snapshot.getIterations();
+        this.iterationsWithNoImprovement = iterationsWithNoImprovement;
+    }
+
+    public Solution getWarmStart() {
+        return warmStart;
+    }
+
+    /**
+     * @return executor, parallelism and seed of the job's ant construction,
+     * which can be changed before and while solving
+     */
+    public ColonyExecution getExecution() {
+        return execution;
+    }
+
+    public ConvergenceHistory getHistory() {
+        return history;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public Tsp getTsp() {
+        return tsp;
+    }
+
+    public AcoConfig getConfig() {
+        return config;
+    }
+
+    public AlgorithmType getAlgorithmType() {
+        return algorithmType;
+    }
+
+    public long getDataNanos() {
+        return dataNanos;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return iterations since the best tour of the job last improved
+     */
+    public int getIterationsWithNoImprovement() {
+        return iterationsWithNoImprovement;
+    }
+
+    /**
+     * @return length of the best tour found so far by the running solver
+     */
+    public int getBestTourLength() {
+        return bestTourLength;
+    }
+
+    /**
+     * @return solution returned by the solver or {@code null} if it hasn't
+     * finished
+     */
+    public Solution getSolution() {
+        return solution;
+    }
+
+}
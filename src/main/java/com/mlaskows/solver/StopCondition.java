@@ -0,0 +1,78 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.mlaskows.solver;
+
+/**
+ * Stops a solve after a wall-clock time limit, which includes getting
+ * static data, or once a tour is at most the target length. Zero disables
+ * either criterion.
+ */
+public class StopCondition {
+
+    public static final StopCondition NONE = new StopCondition(0, 0);
+
+    private final long timeLimitMillis;
+    private final int targetTourLength;
+
+    public StopCondition(long timeLimitMillis, int targetTourLength) {
+        this.timeLimitMillis = timeLimitMillis;
+        this.targetTourLength = targetTourLength;
+    }
+
+    /**
+     * @param targetGapPercent accepted gap to the target length, for example
+     *                         to a known optimum
+     */
+    public static StopCondition of(int timeLimitSeconds, int targetTourLength,
+                                   double targetGapPercent) {
+        final int target = targetTourLength <= 0 ? 0
+                : (int) Math.floor(targetTourLength * (1 + targetGapPercent / 100));
+        return new StopCondition(Math.max(0, timeLimitSeconds) * 1000L, target);
+    }
+
+    /**
+     * @return condition with the time left after the given time, at least a
+     * millisecond so the limit stays enabled
+     */
+    public StopCondition remainingAfter(long elapsedMillis) {
+        if (!hasTimeLimit()) {
+            return this;
+        }
+        return new StopCondition(Math.max(1, timeLimitMillis - elapsedMillis),
+                targetTourLength);
+    }
+
+    public boolean hasTimeLimit() {
+        return timeLimitMillis > 0;
+    }
+
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public boolean isTargetReached(int tourLength) {
+        return targetTourLength > 0 && tourLength <= targetTourLength;
+    }
+
+    @Override
+    public String toString() {
+        return "StopCondition{" +
+                "timeLimitMillis=" + timeLimitMillis +
+                ", targetTourLength=" + targetTourLength +
+                '}';
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.tour;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.io.ChannelWriter;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact tour file: a magic number, the content hash of the problem, the
+ * dimension and tour length followed by zigzag varint deltas between
+ * consecutive city indexes. Neighbouring cities of good tours tend to have
+ * close indexes in files ordered spatially, so most deltas take one or two
+ * bytes.
+ */
+class BinaryTour {
+
+    private static final int MAGIC = 0x41545231;
+
+    private BinaryTour() {
+    }
+
+    static void write(Path file, String contentHash, Solution solution)
+            throws IOException {
+        final int[] nodes = Tours.toNodes(solution);
+        try (ChannelWriter writer = new ChannelWriter(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))) {
+            writer.putInt(MAGIC);
+            final byte[] hash = contentHash.getBytes(StandardCharsets.US_ASCII);
+            writer.putVarint(hash.length);
+            writer.putBytes(hash);
+            writer.putVarint(nodes.length);
+            writer.putVarint(solution.getTourLength());
+            int previous = 0;
+            for (int node : nodes) {
+                writer.putVarint(zigzag(node - previous));
+                previous = node;
+            }
+        }
+    }
+
+    /**
+     * Tour length is computed from the problem like for TSPLIB tours, the
+     * saved one isn't trusted.
+     *
+     * @throws IllegalArgumentException if the file is not a binary tour or
+     *                                  was saved for another problem
+     */
+    static Solution read(Path file, Tsp tsp, String contentHash)
+            throws IOException {
+        final int dimension = tsp.getDimension();
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary tour file");
+            }
+            final int hashLength = getVarint(buffer);
+            if (hashLength < 0 || hashLength > buffer.remaining()) {
+                throw new IllegalArgumentException("Malformed hash in binary tour file");
+            }
+            final byte[] hash = new byte[hashLength];
+            buffer.get(hash);
+            final String savedHash = new String(hash, StandardCharsets.US_ASCII);
+            if (!savedHash.isEmpty() && !savedHash.equals(contentHash)) {
+                throw new IllegalArgumentException("Tour was saved for a different problem");
+            }
+            final int size = getVarint(buffer);
+            if (size != dimension) {
+                throw new IllegalArgumentException("Tour has " + size
+                        + " cities but the problem has " + dimension);
+            }
+            // saved tour length
+            getVarint(buffer);
+            final int[] nodes = new int[size];
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += unzigzag(getVarint(buffer));
+                nodes[i] = previous;
+            }
+            Tours.validate(nodes, dimension);
+            return Tours.toSolution(nodes, Tours.computeLength(tsp, nodes));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Binary tour file is truncated");
+        }
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in binary tour file");
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
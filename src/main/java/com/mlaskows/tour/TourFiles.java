@@ -0,0 +1,61 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.tour;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Saves and loads solutions in one of the {@link TourFormat}s chosen by file
+ * extension.
+ */
+public class TourFiles {
+
+    private TourFiles() {
+    }
+
+    public static void save(File file, Tsp tsp, String contentHash,
+                            Solution solution) throws IOException {
+        switch (getFormat(file)) {
+            case BINARY:
+                BinaryTour.write(file.toPath(), contentHash, solution);
+                break;
+            default:
+                TsplibTour.write(file.toPath(), tsp, solution);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tour doesn't fit the problem
+     */
+    public static Solution load(File file, Tsp tsp, String contentHash)
+            throws IOException {
+        switch (getFormat(file)) {
+            case BINARY:
+                return BinaryTour.read(file.toPath(), tsp, contentHash);
+            default:
+                return TsplibTour.read(file.toPath(), tsp);
+        }
+    }
+
+    private static TourFormat getFormat(File file) {
+        return TourFormat.of(file).orElseThrow(() -> new IllegalArgumentException(
+                "Unknown tour file extension: " + file.getName()));
+    }
+
+}
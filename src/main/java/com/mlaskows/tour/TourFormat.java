@@ -0,0 +1,51 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.tour;
+
+import java.io.File;
+import java.util.Optional;
+
+public enum TourFormat {
+
+    TSPLIB("TSPLIB tour files (*.tour)", "tour"),
+    BINARY("Binary tour files (*.btour)", "btour");
+
+    private final String description;
+    private final String extension;
+
+    TourFormat(String description, String extension) {
+        this.description = description;
+        this.extension = extension;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static Optional<TourFormat> of(File file) {
+        final String name = file.getName().toLowerCase();
+        for (TourFormat format : values()) {
+            if (name.endsWith("." + format.extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
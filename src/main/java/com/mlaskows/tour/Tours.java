@@ -0,0 +1,101 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.tour;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.tsplib.datamodel.item.Node;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+import com.mlaskows.tsplib.util.DistanceCalculationMethodFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Helpers shared by tour formats. Files keep each city once, solutions
+ * repeat the first city at the end.
+ */
+class Tours {
+
+    private Tours() {
+    }
+
+    static int[] toNodes(Solution solution) {
+        final List<Integer> tour = solution.getTour();
+        final int size = tour.size() > 1 && tour.get(0).equals(tour.get(tour.size() - 1))
+                ? tour.size() - 1 : tour.size();
+        final int[] nodes = new int[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = tour.get(i);
+        }
+        return nodes;
+    }
+
+    static Solution toSolution(int[] nodes, int tourLength) {
+        final List<Integer> tour = new ArrayList<>(nodes.length + 1);
+        for (int node : nodes) {
+            tour.add(node);
+        }
+        tour.add(nodes[0]);
+        return new Solution(tour, tourLength);
+    }
+
+    /**
+     * @throws IllegalArgumentException if nodes aren't a permutation of
+     *                                  {@code 0..dimension-1}
+     */
+    static void validate(int[] nodes, int dimension) {
+        if (nodes.length != dimension) {
+            throw new IllegalArgumentException("Tour has " + nodes.length
+                    + " cities but the problem has " + dimension);
+        }
+        final BitSet visited = new BitSet(dimension);
+        for (int node : nodes) {
+            if (node < 0 || node >= dimension) {
+                throw new IllegalArgumentException("Tour city " + (node + 1)
+                        + " is out of range");
+            }
+            if (visited.get(node)) {
+                throw new IllegalArgumentException("Tour visits city "
+                        + (node + 1) + " twice");
+            }
+            visited.set(node);
+        }
+    }
+
+    static int computeLength(Tsp tsp, int[] nodes) {
+        final IntBinaryOperator distance = getDistance(tsp);
+        long length = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            length += distance.applyAsInt(nodes[i], nodes[(i + 1) % nodes.length]);
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    private static IntBinaryOperator getDistance(Tsp tsp) {
+        if (tsp.getEdgeWeightData().isPresent()) {
+            final int[][] weights = tsp.getEdgeWeightData().get();
+            return (from, to) -> weights[from][to];
+        }
+        final List<Node> cities = tsp.getNodes().orElseThrow(() ->
+                new IllegalArgumentException("Problem has no coordinates"));
+        final BiFunction<Node, Node, Integer> distance = DistanceCalculationMethodFactory
+                .getDistanceCalculationMethod(tsp.getEdgeWeightType());
+        return (from, to) -> distance.apply(cities.get(from), cities.get(to));
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.mlaskows.tour;
+
+import com.mlaskows.antsp.datamodel.Solution;
+import com.mlaskows.io.ChannelWriter;
+import com.mlaskows.tsplib.datamodel.item.Tsp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.StringTokenizer;
+
+/**
+ * Standard TSPLIB TOUR files with 1-based city ids terminated by -1.
+ */
+class TsplibTour {
+
+    private static final String TOUR_SECTION = "TOUR_SECTION";
+    private static final String DIMENSION = "DIMENSION";
+    private static final int END_OF_TOUR = -1;
+
+    private TsplibTour() {
+    }
+
+    static void write(Path file, Tsp tsp, Solution solution) throws IOException {
+        final int[] nodes = Tours.toNodes(solution);
+        try (ChannelWriter writer = new ChannelWriter(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))) {
+            writer.putLine("NAME : " + tsp.getName() + ".tour");
+            writer.putLine("COMMENT : Length " + solution.getTourLength());
+            writer.putLine("TYPE : TOUR");
+            writer.putAscii("DIMENSION : ");
+            writer.putDecimal(nodes.length);
+            writer.putNewLine();
+            writer.putLine(TOUR_SECTION);
+            for (int node : nodes) {
+                writer.putDecimal(node + 1);
+                writer.putNewLine();
+            }
+            writer.putDecimal(END_OF_TOUR);
+            writer.putNewLine();
+            writer.putLine("EOF");
+        }
+    }
+
+    static Solution read(Path file, Tsp tsp) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file,
+                StandardCharsets.US_ASCII)) {
+            int dimension = tsp.getDimension();
+            String line;
+            while ((line = reader.readLine()) != null
+                    && !line.trim().startsWith(TOUR_SECTION)) {
+                final String[] keyValue = line.split(":", 2);
+                if (keyValue.length == 2 && DIMENSION.equals(keyValue[0].trim())) {
+                    dimension = Integer.parseInt(keyValue[1].trim());
+                }
+            }
+            if (line == null) {
+                throw new IllegalArgumentException("No " + TOUR_SECTION + " in tour file");
+            }
+            if (dimension != tsp.getDimension()) {
+                throw new IllegalArgumentException("Tour has " + dimension
+                        + " cities but the problem has " + tsp.getDimension());
+            }
+            final int[] nodes = readNodes(reader, dimension);
+            Tours.validate(nodes, tsp.getDimension());
+            return Tours.toSolution(nodes, Tours.computeLength(tsp, nodes));
+        }
+    }
+
+    private static int[] readNodes(BufferedReader reader, int dimension)
+            throws IOException {
+        final int[] nodes = new int[dimension];
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final StringTokenizer tokenizer = new StringTokenizer(line);
+            while (tokenizer.hasMoreTokens()) {
+                final String token = tokenizer.nextToken();
+                final int id = "EOF".equals(token) ? END_OF_TOUR : Integer.parseInt(token);
+                if (id == END_OF_TOUR) {
+                    checkCount(count, dimension);
+                    return nodes;
+                }
+                if (count == dimension) {
+                    throw new IllegalArgumentException("Tour has more than "
+                            + dimension + " cities");
+                }
+                nodes[count++] = id - 1;
+            }
+        }
+        checkCount(count, dimension);
+        return nodes;
+    }
+
+    private static void checkCount(int count, int dimension) {
+        if (count != dimension) {
+            throw new IllegalArgumentException("Tour has " + count
+                    + " cities but the problem has " + dimension);
+        }
+    }
+
+}